@@ -0,0 +1,101 @@
+package com.spotlight.platform.userprofile.api.core.profile;
+
+import com.spotlight.platform.userprofile.api.core.profile.commands.CollectCommandHandler;
+import com.spotlight.platform.userprofile.api.core.profile.commands.CommandHandlerRegistry;
+import com.spotlight.platform.userprofile.api.core.profile.commands.IncrementCommandHandler;
+import com.spotlight.platform.userprofile.api.core.profile.commands.ReplaceCommandHandler;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDaoInMemory;
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Throughput of single increment commands, run by one thread and by one thread per processor. The per-user update of the DAO is
+ * compared against the same update behind one global lock, for callers that all hit one user and for callers with a user each.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProfileUpdateContentionBenchmark {
+    public enum Users {
+        SAME_USER, USER_PER_THREAD
+    }
+
+    @Param
+    public Users users;
+
+    private final Object globalLock = new Object();
+    private ExecutorService commandExecutor;
+    private UserProfileService userProfileService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        commandExecutor = Executors.newSingleThreadExecutor();
+        var commandHandlers = new CommandHandlerRegistry(
+                Set.of(new ReplaceCommandHandler(), new IncrementCommandHandler(), new CollectCommandHandler()));
+        userProfileService = new UserProfileService(new UserProfileDaoInMemory(), commandHandlers, CommandJournal.NONE, commandExecutor,
+                CommandDeduplicator.NONE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        commandExecutor.shutdownNow();
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+        private static final AtomicInteger THREADS = new AtomicInteger();
+
+        private UserProfileCommand increment;
+
+        @Setup(Level.Trial)
+        public void setUp(ProfileUpdateContentionBenchmark benchmark) {
+            var userId = benchmark.users == Users.SAME_USER ? UserId.valueOf("user") : UserId.valueOf("user-" + THREADS.incrementAndGet());
+            increment = new UserProfileCommand(userId, UserProfileCommand.CommandType.INCREMENT, Map.of("gold", 1));
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void singleThread(Caller caller) {
+        userProfileService.processCommands(caller.increment);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void perUserUpdate(Caller caller) {
+        userProfileService.processCommands(caller.increment);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void globalLock(Caller caller) {
+        synchronized (globalLock) {
+            userProfileService.processCommands(caller.increment);
+        }
+    }
+}
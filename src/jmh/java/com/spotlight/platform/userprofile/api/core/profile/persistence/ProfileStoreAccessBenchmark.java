@@ -0,0 +1,82 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence;
+
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reading and of updating one profile in the heap and the off-heap store. Every off-heap read deserializes the profile and every
+ * update serializes it again; the numbers show what that costs per profile size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ProfileStoreAccessBenchmark {
+    private static final int USERS = 100_000;
+
+    public enum Store {
+        IN_MEMORY, OFF_HEAP
+    }
+
+    @Param
+    public Store store;
+
+    @Param({"4", "32"})
+    public int properties;
+
+    private UserProfileDao userProfileDao;
+    private UserId[] userIds;
+
+    @Setup
+    public void setUp() {
+        userProfileDao = store == Store.IN_MEMORY
+                ? new UserProfileDaoInMemory()
+                : new UserProfileDaoOffHeap(JsonMapper.getInstance(), 64 * 1024 * 1024);
+        userIds = new UserId[USERS];
+        var profileProperties = new HashMap<UserProfilePropertyName, UserProfilePropertyValue>();
+        for (int i = 0; i < properties; i++) {
+            profileProperties.put(UserProfilePropertyName.valueOf("property" + i), UserProfilePropertyValue.valueOf(i));
+        }
+        for (int i = 0; i < USERS; i++) {
+            userIds[i] = UserId.valueOf("user-" + i);
+            userProfileDao.put(new UserProfile(userIds[i], Instant.now(), profileProperties));
+        }
+    }
+
+    @Benchmark
+    public Optional<UserProfile> get() {
+        return userProfileDao.get(randomUser());
+    }
+
+    @Benchmark
+    public UserProfile update() {
+        return userProfileDao.update(randomUser(), userProfile -> userProfile.nextVersion(userProfile.latestUpdateTime()));
+    }
+
+    private UserId randomUser() {
+        return userIds[ThreadLocalRandom.current().nextInt(USERS)];
+    }
+}
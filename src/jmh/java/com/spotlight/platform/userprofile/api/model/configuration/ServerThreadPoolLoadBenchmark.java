@@ -0,0 +1,127 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+import com.codahale.metrics.MetricRegistry;
+
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.eclipse.jetty.util.thread.ThreadPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.dropwizard.server.DefaultServerFactory;
+
+/**
+ * Load on a Jetty server with Dropwizard's default platform thread pool and with {@link VirtualThreadServerFactory}. Every request
+ * blocks its thread for a while, like a request waiting on a durable or remote store. Each invocation sends a burst of concurrent
+ * requests and waits for all of them, so the sampled times are the latency of the slowest request of a burst.
+ *
+ * <p>Every request of a burst holds a connection, so the open file limit must exceed the burst size.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServerThreadPoolLoadBenchmark {
+    public enum RequestThreads {
+        PLATFORM, VIRTUAL
+    }
+
+    @Param
+    public RequestThreads requestThreads;
+
+    @Param({"100", "2000"})
+    public int concurrentRequests;
+
+    @Param("20")
+    public int blockingMillis;
+
+    private Server server;
+    private ExecutorService clientExecutor;
+    private HttpClient httpClient;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        var metricRegistry = new MetricRegistry();
+        ThreadPool threadPool = requestThreads == RequestThreads.PLATFORM
+                ? new PlatformThreadServerFactory().threadPool(metricRegistry)
+                : new VirtualThreadServerFactory().createThreadPool(metricRegistry);
+        server = new Server(threadPool);
+        var connector = new ServerConnector(server);
+        connector.setPort(0);
+        connector.setAcceptQueueSize(concurrentRequests);
+        server.addConnector(connector);
+        server.setHandler(new BlockingHandler(blockingMillis));
+        server.start();
+
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clientExecutor).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + connector.getLocalPort() + "/")).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        server.stop();
+        clientExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public void burst() {
+        var responses = new CompletableFuture<?>[concurrentRequests];
+        for (int i = 0; i < concurrentRequests; i++) {
+            responses[i] = httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        }
+        CompletableFuture.allOf(responses).join();
+    }
+
+    private static final class PlatformThreadServerFactory extends DefaultServerFactory {
+        private ThreadPool threadPool(MetricRegistry metricRegistry) {
+            return createThreadPool(metricRegistry);
+        }
+    }
+
+    private static final class BlockingHandler extends AbstractHandler {
+        private final int blockingMillis;
+
+        private BlockingHandler(int blockingMillis) {
+            this.blockingMillis = blockingMillis;
+        }
+
+        @Override
+        public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) {
+            try {
+                Thread.sleep(blockingMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+            baseRequest.setHandled(true);
+        }
+    }
+}
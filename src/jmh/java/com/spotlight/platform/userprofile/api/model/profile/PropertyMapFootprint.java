@@ -0,0 +1,50 @@
+package com.spotlight.platform.userprofile.api.model.profile;
+
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Prints the heap taken per profile by its property map, as the {@link ConcurrentHashMap} profiles used to hold, as a {@link HashMap}
+ * and as a {@link CompactPropertyMap}. Names are interned and shared in every layout, so only the map structure and the values count.
+ */
+public final class PropertyMapFootprint {
+    private static final int PROFILES = 10_000;
+    private static final int[] PROPERTY_COUNTS = {1, 4, 16, 64};
+
+    private PropertyMapFootprint() {}
+
+    public static void main(String[] args) {
+        System.out.printf("%10s %20s %10s %20s%n", "properties", "ConcurrentHashMap", "HashMap", "CompactPropertyMap");
+        for (int propertyCount : PROPERTY_COUNTS) {
+            long concurrentHashMap = bytesPerProfile(propertyCount, ConcurrentHashMap::new);
+            long hashMap = bytesPerProfile(propertyCount, HashMap::new);
+            long compact = bytesPerProfile(propertyCount, CompactPropertyMap::copyOf);
+            System.out.printf("%10d %20d %10d %20d%n", propertyCount, concurrentHashMap, hashMap, compact);
+        }
+    }
+
+    private static long bytesPerProfile(int propertyCount,
+                                        Function<Map<UserProfilePropertyName, UserProfilePropertyValue>, Map<?, ?>> layout) {
+        var names = new UserProfilePropertyName[propertyCount];
+        for (int i = 0; i < propertyCount; i++) {
+            names[i] = UserProfilePropertyName.valueOf("property" + i);
+        }
+        var maps = new Map<?, ?>[PROFILES];
+        for (int profile = 0; profile < PROFILES; profile++) {
+            var properties = new HashMap<UserProfilePropertyName, UserProfilePropertyValue>();
+            for (int i = 0; i < propertyCount; i++) {
+                properties.put(names[i], UserProfilePropertyValue.valueOf(profile * 1_000L + i));
+            }
+            maps[profile] = layout.apply(properties);
+        }
+        long sharedNames = GraphLayout.parseInstance((Object) names).totalSize();
+        return (GraphLayout.parseInstance(names, maps).totalSize() - sharedNames) / PROFILES;
+    }
+}
@@ -0,0 +1,83 @@
+package com.spotlight.platform.userprofile.api.model.profile;
+
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of looking up every property of a profile in a {@link ConcurrentHashMap} and in a {@link CompactPropertyMap}, and of
+ * changing one property through an {@link CompactPropertyMap.Editor}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropertyMapLookupBenchmark {
+    @Param({"4", "16", "64"})
+    public int properties;
+
+    private UserProfilePropertyName[] names;
+    private Map<UserProfilePropertyName, UserProfilePropertyValue> concurrentHashMap;
+    private CompactPropertyMap compactPropertyMap;
+    private UserProfilePropertyValue value;
+
+    @Setup
+    public void setUp() {
+        names = new UserProfilePropertyName[properties];
+        var propertyMap = new HashMap<UserProfilePropertyName, UserProfilePropertyValue>();
+        for (int i = 0; i < properties; i++) {
+            names[i] = UserProfilePropertyName.valueOf("property" + i);
+            propertyMap.put(names[i], UserProfilePropertyValue.valueOf(i));
+        }
+        concurrentHashMap = new ConcurrentHashMap<>(propertyMap);
+        compactPropertyMap = CompactPropertyMap.copyOf(propertyMap);
+        value = UserProfilePropertyValue.valueOf(-1);
+    }
+
+    @Benchmark
+    public void concurrentHashMapGet(Blackhole blackhole) {
+        for (UserProfilePropertyName name : names) {
+            blackhole.consume(concurrentHashMap.get(name));
+        }
+    }
+
+    @Benchmark
+    public void compactPropertyMapGet(Blackhole blackhole) {
+        for (UserProfilePropertyName name : names) {
+            blackhole.consume(compactPropertyMap.get(name));
+        }
+    }
+
+    @Benchmark
+    public Map<UserProfilePropertyName, UserProfilePropertyValue> concurrentHashMapCopyAndPut() {
+        var copy = new ConcurrentHashMap<>(concurrentHashMap);
+        copy.put(names[names.length / 2], value);
+        return copy;
+    }
+
+    @Benchmark
+    public CompactPropertyMap compactPropertyMapEdit() {
+        var editor = CompactPropertyMap.edit(compactPropertyMap);
+        editor.put(names[names.length / 2], value);
+        return editor.build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.spotlight.platform.userprofile.api.model.profile.primitives;
+
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Prints the heap taken by the property names of many profiles that share a few hundred distinct names, once with a new name per
+ * parsed key as before interning and once with the interned names.
+ */
+public final class PropertyNameFootprint {
+    private static final int PROFILES = 100_000;
+    private static final int PROPERTIES_PER_PROFILE = 20;
+    private static final int DISTINCT_NAMES = 300;
+
+    private PropertyNameFootprint() {}
+
+    public static void main(String[] args) {
+        long fresh = footprint(false);
+        long interned = footprint(true);
+        System.out.printf("%,d profiles with %d of %d distinct property names%n", PROFILES, PROPERTIES_PER_PROFILE, DISTINCT_NAMES);
+        System.out.printf("new name per key: %,15d bytes, %,6d per profile%n", fresh, fresh / PROFILES);
+        System.out.printf("interned names:   %,15d bytes, %,6d per profile%n", interned, interned / PROFILES);
+        System.out.printf("interned names take %.1f%% of the heap%n", 100.0 * interned / fresh);
+    }
+
+    // Every key is built from its own string, like the keys of parsed commands.
+    private static long footprint(boolean interned) {
+        var names = new UserProfilePropertyName[PROFILES][PROPERTIES_PER_PROFILE];
+        for (int profile = 0; profile < PROFILES; profile++) {
+            for (int property = 0; property < PROPERTIES_PER_PROFILE; property++) {
+                var value = "property" + (profile * 7 + property) % DISTINCT_NAMES;
+                names[profile][property] = interned ? UserProfilePropertyName.valueOf(value) : new UserProfilePropertyName(value);
+            }
+        }
+        return GraphLayout.parseInstance((Object) names).totalSize();
+    }
+}
@@ -0,0 +1,78 @@
+package com.spotlight.platform.userprofile.api.web.formats;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of parsing and writing a batch of commands in each {@link ContentFormat}. The payload size of the batch in every format is
+ * printed during the setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommandFormatBenchmark {
+    private static final int COMMANDS = 1_000;
+
+    @Param
+    public ContentFormat format;
+
+    private List<UserProfileCommand> commands;
+    private ObjectReader reader;
+    private ObjectWriter writer;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        commands = new ArrayList<>(COMMANDS);
+        for (int i = 0; i < COMMANDS; i++) {
+            var userId = UserId.valueOf("de4310e5-b139-441a-99db-" + String.format("%012d", i % 100));
+            commands.add(switch (i % 3) {
+                case 0 -> new UserProfileCommand(userId, UserProfileCommand.CommandType.REPLACE,
+                        Map.of("currentGold", 500 + i, "currentGems", 800));
+                case 1 -> new UserProfileCommand(userId, UserProfileCommand.CommandType.INCREMENT,
+                        Map.of("battleFought", 1, "questsNotCompleted", -1));
+                default -> new UserProfileCommand(userId, UserProfileCommand.CommandType.COLLECT,
+                        Map.of("inventory", List.of("sword" + i, "shield"), "tools", List.of("pickaxe")));
+            });
+        }
+        var commandList = new TypeReference<List<UserProfileCommand>>() {};
+        reader = format.objectMapper().readerFor(commandList);
+        writer = format.objectMapper().writerFor(commandList);
+        payload = writer.writeValueAsBytes(commands);
+        System.out.printf("%n%s batch of %,d commands: %,d bytes%n", format, COMMANDS, payload.length);
+    }
+
+    @Benchmark
+    public List<UserProfileCommand> parse() throws IOException {
+        return reader.readValue(payload);
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        return writer.writeValueAsBytes(commands);
+    }
+}
@@ -0,0 +1,72 @@
+package com.spotlight.platform.userprofile.api.web.validation;
+
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import io.dropwizard.jersey.validation.Validators;
+
+/**
+ * Cost of validating one command the way the endpoints used to, with a validator factory built per request, against the shared
+ * validator and the fast path in front of it. Run with {@code -prof gc} to see the allocations per command as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommandValidationBenchmark {
+    @Param({"true", "false"})
+    public boolean valid;
+
+    private UserProfileCommand command;
+    private Validator validator;
+    private UserProfileCommandValidation commandValidation;
+
+    @Setup
+    public void setUp() {
+        var userId = UserId.valueOf("de4310e5-b139-441a-99db-77c9c4a5fada");
+        command = valid
+                ? new UserProfileCommand(userId, UserProfileCommand.CommandType.INCREMENT, Map.of("battleFought", 10))
+                : new UserProfileCommand(userId, UserProfileCommand.CommandType.COLLECT, Map.of("inventory", "sword"));
+        validator = Validators.newValidator();
+        commandValidation = new UserProfileCommandValidation(validator);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserProfileCommand>> validatorFactoryPerRequest() {
+        try (var validatorFactory = Validation.buildDefaultValidatorFactory()) {
+            return validatorFactory.getValidator().validate(command);
+        }
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserProfileCommand>> sharedValidator() {
+        return validator.validate(command);
+    }
+
+    @Benchmark
+    public Optional<String> commandValidation() {
+        return commandValidation.validate(command);
+    }
+}
@@ -2,6 +2,7 @@ package com.spotlight.platform.userprofile.api.core.json;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -15,7 +16,14 @@ public class JsonMapper {
     }
 
     public static ObjectMapper createInstance() {
-        var objectMapper = Jackson.newObjectMapper();
+        return createInstance(null);
+    }
+
+    /**
+     * Creates a mapper with the same configuration for another data format, such as Smile or CBOR. A {@code null} factory means JSON.
+     */
+    public static ObjectMapper createInstance(JsonFactory jsonFactory) {
+        var objectMapper = Jackson.newObjectMapper(jsonFactory);
         toggleFeatures(objectMapper);
         setVisibilities(objectMapper);
         return objectMapper;
@@ -0,0 +1,111 @@
+package com.spotlight.platform.userprofile.api.core.profile;
+
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers the ids of recently applied commands so that a retried command is not applied twice. Ids are scoped by user and kept
+ * exactly, in stripes chosen by their hash; a stripe holds a current and a previous generation of ids and starts a new generation once
+ * the current one is a window old or full. An id is therefore remembered for at least one window unless more than {@code maxCommandIds}
+ * ids arrive within it, and never for more than two windows.
+ *
+ * <p>Exact sets are used rather than a Bloom filter: a false positive would silently drop a command that was never applied.
+ */
+public class CommandDeduplicator {
+    public static final CommandDeduplicator NONE = new CommandDeduplicator(0, Duration.ZERO);
+
+    private static final int STRIPES = 64;
+
+    private final Stripe[] stripes;
+    private final int generationCapacity;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+
+    public CommandDeduplicator(int maxCommandIds, Duration window) {
+        this(maxCommandIds, window, System::nanoTime);
+    }
+
+    CommandDeduplicator(int maxCommandIds, Duration window, LongSupplier nanoClock) {
+        this.generationCapacity = Math.max(1, maxCommandIds / (2 * STRIPES));
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+        this.stripes = new Stripe[maxCommandIds > 0 ? STRIPES : 0];
+        Arrays.setAll(stripes, i -> new Stripe(nanoClock.getAsLong()));
+    }
+
+    /**
+     * Records the command id of the user and returns whether it is new. Commands without an id are always new.
+     */
+    public boolean markApplied(UserId userId, String commandId) {
+        if (commandId == null || stripes.length == 0) {
+            return true;
+        }
+        var key = new Key(userId, commandId);
+        Stripe stripe = stripeOf(key);
+        stripe.lock.lock();
+        try {
+            stripe.rotateIfDue(nanoClock.getAsLong());
+            if (stripe.previous.contains(key)) {
+                return false;
+            }
+            return stripe.current.add(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Drops a recorded command id again, for a command that was recorded but whose update failed afterwards.
+     */
+    public void forget(UserId userId, String commandId) {
+        if (commandId == null || stripes.length == 0) {
+            return;
+        }
+        var key = new Key(userId, commandId);
+        Stripe stripe = stripeOf(key);
+        stripe.lock.lock();
+        try {
+            stripe.current.remove(key);
+            stripe.previous.remove(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private Stripe stripeOf(Key key) {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+    }
+
+    private record Key(UserId userId, String commandId) {}
+
+    private final class Stripe {
+        private final Lock lock = new ReentrantLock();
+        private Set<Key> current = new HashSet<>();
+        private Set<Key> previous = new HashSet<>();
+        private long generationStart;
+
+        private Stripe(long generationStart) {
+            this.generationStart = generationStart;
+        }
+
+        private void rotateIfDue(long now) {
+            long age = now - generationStart;
+            if (age >= 2 * windowNanos) {
+                previous = new HashSet<>();
+                current = new HashSet<>();
+                generationStart = now;
+            } else if (age >= windowNanos || current.size() >= generationCapacity) {
+                previous = current;
+                current = new HashSet<>();
+                generationStart = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.spotlight.platform.userprofile.api.core.profile;
+
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+
+import java.util.function.Function;
+
+/**
+ * Records every applied command so that profiles can be rebuilt after a restart. A DAO update runs inside {@link #update(Function)} and
+ * records the commands it applies; they are journaled once the DAO has stored the result, outside of the DAO update.
+ */
+public interface CommandJournal {
+    CommandJournal NONE = new CommandJournal() {
+        @Override
+        public <T> T update(Function<Recorder, T> update) {
+            return update.apply((updatedProfile, command) -> {
+                // nothing is recorded
+            });
+        }
+    };
+
+    /**
+     * Runs a profile update. The commands passed to the recorder are journaled after the update has returned and dropped if it throws,
+     * so a command the DAO failed to store is never replayed. Implementations return once the journaled commands are durable.
+     */
+    <T> T update(Function<Recorder, T> update);
+
+    @FunctionalInterface
+    interface Recorder {
+        /**
+         * Records a command applied by the running update. Called from within the DAO update, so it must not block.
+         */
+        void append(UserProfile updatedProfile, UserProfileCommand command);
+    }
+}
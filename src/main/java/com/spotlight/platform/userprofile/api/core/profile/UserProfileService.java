@@ -1,143 +1,223 @@
 package com.spotlight.platform.userprofile.api.core.profile;
 
 import com.spotlight.platform.userprofile.api.core.exceptions.EntityNotFoundException;
+import com.spotlight.platform.userprofile.api.core.profile.commands.CommandHandlerRegistry;
 import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
 import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommandResult;
+import com.spotlight.platform.userprofile.api.model.profile.CompactPropertyMap;
 import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
 import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
 import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
 import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
 
 import javax.inject.Inject;
+import javax.inject.Named;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
 
 public class UserProfileService {
+    public static final String COMMAND_EXECUTOR = "userProfileCommandExecutor";
+
+    private static final int COMMAND_LANES = Runtime.getRuntime().availableProcessors();
+
     private final UserProfileDao userProfileDao;
+    private final CommandHandlerRegistry commandHandlers;
+    private final CommandJournal commandJournal;
+    private final ExecutorService commandExecutor;
+    private final CommandDeduplicator commandDeduplicator;
 
     @Inject
-    public UserProfileService(UserProfileDao userProfileDao) {
+    public UserProfileService(UserProfileDao userProfileDao, CommandHandlerRegistry commandHandlers, CommandJournal commandJournal,
+                              @Named(COMMAND_EXECUTOR) ExecutorService commandExecutor, CommandDeduplicator commandDeduplicator) {
         this.userProfileDao = userProfileDao;
+        this.commandHandlers = commandHandlers;
+        this.commandJournal = commandJournal;
+        this.commandExecutor = commandExecutor;
+        this.commandDeduplicator = commandDeduplicator;
     }
 
     public UserProfile get(UserId userId) {
         return userProfileDao.get(userId).orElseThrow(EntityNotFoundException::new);
     }
 
+    public Optional<UserProfile> find(UserId userId) {
+        return userProfileDao.get(userId);
+    }
+
+    /**
+     * The profiles of the users in the order of the given ids, looked up by the DAO as the stream is consumed.
+     */
+    public Stream<Optional<UserProfile>> findAll(List<UserId> userIds) {
+        return userProfileDao.getAll(userIds);
+    }
+
     public void processCommands(UserProfileCommand command) {
         if(command.getUserId().toString() == ""){
             throw new IllegalArgumentException();
         }
-        Optional<UserProfile> userProfile = userProfileDao.get(UserId.valueOf(command.getUserId().toString()));
-        if(!userProfile.isPresent())
-        {
-            Map<UserProfilePropertyName, UserProfilePropertyValue> userProfilePropertyNameUserProfilePropertyMap = new ConcurrentHashMap<>();
-
-            command.getProperties().forEach((userProfileKey, useProfilePropertyValue) -> {
-                userProfilePropertyNameUserProfilePropertyMap.put(UserProfilePropertyName.valueOf(userProfileKey), UserProfilePropertyValue.valueOf(useProfilePropertyValue));
-            });
-            UserProfile userNewProfile = new UserProfile(command.getUserId(), LocalDateTime.now().toInstant(ZoneOffset.UTC), userProfilePropertyNameUserProfilePropertyMap);
-
-            userProfileDao.put(userNewProfile);
-
-        }else {
-            switch (command.getType()) {
-                case REPLACE:
-                    replaceProperty(command.getUserId(), command.getProperties());
-                    break;
-                case INCREMENT:
-                    incrementProperty(command.getUserId(), command.getProperties());
-                    break;
-                case COLLECT:
-                    collectProperty(command.getUserId(), command.getProperties());
-                    break;
-                default:
-                    // handle unknown command type
+        var commandHandler = commandHandlers.get(command.getType());
+        commandJournal.update(journal -> userProfileDao.update(command.getUserId(), userProfile -> {
+            if (!commandDeduplicator.markApplied(command.getUserId(), command.getCommandId())) {
+                return userProfile;
             }
-        }
-
+            try {
+                var currentProfile = userProfile == null ? newUserProfile(command.getUserId()) : userProfile;
+                var properties = CompactPropertyMap.edit(currentProfile.userProfileProperties());
+                commandHandler.apply(properties, command.getProperties());
+                var updatedProfile = currentProfile.nextVersion(now(), properties.build());
+                journal.append(updatedProfile, command);
+                return updatedProfile;
+            } catch (RuntimeException e) {
+                commandDeduplicator.forget(command.getUserId(), command.getCommandId());
+                throw e;
+            }
+        }));
     }
 
-    private void replaceProperty(UserId userId, Map<String, Object> properties) {
-        UserProfile userProfile = get(userId);
+    /**
+     * Applies a batch with one profile load and store per user. A command whose id was recently applied to the same user is skipped and
+     * reported as a duplicate. The users are partitioned by the hash of their id into at most one
+     * lane per available processor; a lane applies the commands of its users one user after the other, in batch order, and the lanes
+     * run in parallel on the command executor. The returned results are in batch order.
+     */
+    public List<UserProfileCommandResult> processCommands(List<UserProfileCommand> commands) {
+        var results = new UserProfileCommandResult[commands.size()];
+        Map<UserId, List<Integer>> commandIndexesByUser = groupByUser(commands, results);
+
+        int laneCount = Math.min(COMMAND_LANES, commandIndexesByUser.size());
+        List<List<Map.Entry<UserId, List<Integer>>>> lanes = new ArrayList<>(laneCount);
+        for (int lane = 0; lane < laneCount; lane++) {
+            lanes.add(new ArrayList<>());
+        }
+        for (Map.Entry<UserId, List<Integer>> group : commandIndexesByUser.entrySet()) {
+            lanes.get(Math.floorMod(group.getKey().hashCode(), laneCount)).add(group);
+        }
 
-        for (Map.Entry<String, Object> entry : properties.entrySet()) {
-            UserProfilePropertyName propertyName = UserProfilePropertyName.valueOf(entry.getKey());
-            UserProfilePropertyValue propertyValue = UserProfilePropertyValue.valueOf(entry.getValue());
-            userProfile.userProfileProperties().put(propertyName, propertyValue);
+        List<CompletableFuture<Void>> pendingLanes = new ArrayList<>();
+        for (int lane = 1; lane < laneCount; lane++) {
+            var groups = lanes.get(lane);
+            pendingLanes.add(CompletableFuture.runAsync(() -> applyLane(groups, commands, results), commandExecutor));
+        }
+        if (laneCount > 0) {
+            applyLane(lanes.get(0), commands, results);
         }
+        pendingLanes.forEach(CompletableFuture::join);
 
-        userProfileDao.put(userProfile);
+        return Arrays.asList(results);
     }
 
-    private void incrementProperty(UserId userId, Map<String, Object> properties) {
-        UserProfile userProfile = get(userId);
-
-        for (Map.Entry<String, Object> entry : properties.entrySet()) {
-            UserProfilePropertyName propertyName = UserProfilePropertyName.valueOf(entry.getKey());
-            UserProfilePropertyValue currentValue = userProfile.userProfileProperties().get(propertyName);
-
-            if (currentValue == null) {
-                currentValue = UserProfilePropertyValue.valueOf(0);
-            }
+    /**
+     * Applies a batch like {@link #processCommands(List)}, but one user after the other on the calling thread. Used by callers that
+     * already run a thread per partition of the users.
+     */
+    public List<UserProfileCommandResult> processCommandsOnCallingThread(List<UserProfileCommand> commands) {
+        var results = new UserProfileCommandResult[commands.size()];
+        applyLane(new ArrayList<>(groupByUser(commands, results).entrySet()), commands, results);
+        return Arrays.asList(results);
+    }
 
-            if (!(currentValue.getValue() instanceof Number)) {
-                throw new IllegalArgumentException();
+    /**
+     * Re-applies a journaled command during recovery. Commands the stored profile already contains are skipped, so replaying a journal
+     * segment more than once is harmless. The command id is remembered again, so retries that arrive after a restart are still
+     * recognized.
+     */
+    public void replay(UserProfileCommand command, long version, Instant updateTime) {
+        var commandHandler = commandHandlers.get(command.getType());
+        commandDeduplicator.markApplied(command.getUserId(), command.getCommandId());
+        userProfileDao.update(command.getUserId(), userProfile -> {
+            if (userProfile != null && userProfile.version() >= version) {
+                return userProfile;
             }
+            var currentProfile = userProfile == null ? newUserProfile(command.getUserId()) : userProfile;
+            var properties = CompactPropertyMap.edit(currentProfile.userProfileProperties());
+            commandHandler.apply(properties, command.getProperties());
+            return new UserProfile(currentProfile.userId(), updateTime, properties.build(), version);
+        });
+    }
 
-            Number value = (Number) entry.getValue();
-            Number newValue = ((Number) currentValue.getValue()).doubleValue() + value.doubleValue();
-            UserProfilePropertyValue newPropertyValue = UserProfilePropertyValue.valueOf(newValue.intValue());
-
-            if(!userProfile.userProfileProperties().containsKey(propertyName)){
-                userProfile.userProfileProperties().put(propertyName, newPropertyValue);
+    private static Map<UserId, List<Integer>> groupByUser(List<UserProfileCommand> commands, UserProfileCommandResult[] results) {
+        Map<UserId, List<Integer>> commandIndexesByUser = new LinkedHashMap<>();
+        for (int index = 0; index < commands.size(); index++) {
+            UserId userId = commands.get(index).getUserId();
+            if (userId == null || userId.toString().isEmpty()) {
+                results[index] = UserProfileCommandResult.failed("Missing userId");
+            } else {
+                commandIndexesByUser.computeIfAbsent(userId, id -> new ArrayList<>()).add(index);
             }
-            else
-            {
-                userProfile.userProfileProperties().replace(propertyName, newPropertyValue);
-            }
-
         }
-
-        userProfileDao.put(userProfile);
-
+        return commandIndexesByUser;
     }
 
-    private void collectProperty(UserId userId, Map<String, Object> properties) {
-        UserProfile userProfile = get(userId);
-
-        for (Map.Entry<String, Object> entry : properties.entrySet()) {
-            UserProfilePropertyName propertyName = UserProfilePropertyName.valueOf(entry.getKey());
-            UserProfilePropertyValue currentValue = userProfile.userProfileProperties().get(propertyName);
-
-            if (currentValue == null) {
-                currentValue = UserProfilePropertyValue.valueOf(new ArrayList<>());
-            }
+    private void applyLane(List<Map.Entry<UserId, List<Integer>>> groups, List<UserProfileCommand> commands,
+                           UserProfileCommandResult[] results) {
+        for (Map.Entry<UserId, List<Integer>> group : groups) {
+            applyGroup(group.getKey(), group.getValue(), commands, results);
+        }
+    }
 
-            if (!(currentValue.getValue() instanceof List<?>)) {
-                throw new IllegalArgumentException();
+    /**
+     * Applies the commands of one user in a single DAO update. Every command edits its own copy of the properties, which replaces the
+     * group's state only if the command succeeds, so a command that fails half way through its properties leaves nothing behind.
+     */
+    private void applyGroup(UserId userId, List<Integer> commandIndexes, List<UserProfileCommand> commands,
+                            UserProfileCommandResult[] results) {
+        try {
+            commandJournal.update(journal -> userProfileDao.update(userId, userProfile -> {
+                var currentProfile = userProfile == null ? newUserProfile(userId) : userProfile;
+                var updatedProfile = currentProfile;
+                for (int index : commandIndexes) {
+                    var command = commands.get(index);
+                    if (!commandDeduplicator.markApplied(userId, command.getCommandId())) {
+                        results[index] = UserProfileCommandResult.duplicate();
+                        continue;
+                    }
+                    var properties = CompactPropertyMap.edit(updatedProfile.userProfileProperties());
+                    results[index] = applyCommand(properties, command);
+                    if (results[index].isApplied()) {
+                        updatedProfile = updatedProfile.nextVersion(now(), properties.build());
+                        journal.append(updatedProfile, command);
+                    } else {
+                        commandDeduplicator.forget(userId, command.getCommandId());
+                    }
+                }
+                return updatedProfile == currentProfile ? userProfile : updatedProfile;
+            }));
+        } catch (RuntimeException e) {
+            for (int index : commandIndexes) {
+                if (results[index] != null && results[index].isApplied()) {
+                    commandDeduplicator.forget(userId, commands.get(index).getCommandId());
+                }
+                results[index] = UserProfileCommandResult.failed(e.getMessage());
             }
-
-
-            @SuppressWarnings("unchecked")
-            List<?> value = (List<?>) entry.getValue();
-            @SuppressWarnings("unchecked")
-            List<Object> newValue = (List<Object>) currentValue.getValue();
-            newValue.addAll(value);
-
-
-
-            UserProfilePropertyValue newPropertyValue = UserProfilePropertyValue.valueOf(newValue);
-            userProfile.userProfileProperties().put(propertyName, newPropertyValue);
         }
+    }
 
-        userProfileDao.put(userProfile);
+    private UserProfileCommandResult applyCommand(Map<UserProfilePropertyName, UserProfilePropertyValue> properties,
+                                                  UserProfileCommand command) {
+        try {
+            commandHandlers.get(command.getType()).apply(properties, command.getProperties());
+            return UserProfileCommandResult.applied();
+        } catch (RuntimeException e) {
+            return UserProfileCommandResult.failed(e.getMessage());
+        }
     }
 
+    private static UserProfile newUserProfile(UserId userId) {
+        return new UserProfile(userId, now(), CompactPropertyMap.EMPTY);
+    }
 
+    private static Instant now() {
+        return LocalDateTime.now().toInstant(ZoneOffset.UTC);
+    }
 }
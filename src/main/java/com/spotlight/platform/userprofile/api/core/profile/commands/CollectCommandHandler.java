@@ -0,0 +1,93 @@
+package com.spotlight.platform.userprofile.api.core.profile.commands;
+
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.configuration.CollectConfiguration;
+import com.spotlight.platform.userprofile.api.model.configuration.CollectPolicy;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue.BoundedListValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue.CollectionValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue.ListValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue.LongValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue.SetValue;
+
+import javax.inject.Inject;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects elements according to the {@link CollectPolicy} of each property. A value stored under another policy, for example one
+ * read back from a snapshot or written before the policy changed, is converted on the next collect.
+ */
+public class CollectCommandHandler implements CommandHandler {
+    private final CollectConfiguration collectConfiguration;
+
+    public CollectCommandHandler() {
+        this(new CollectConfiguration());
+    }
+
+    @Inject
+    public CollectCommandHandler(CollectConfiguration collectConfiguration) {
+        this.collectConfiguration = collectConfiguration;
+    }
+
+    @Override
+    public UserProfileCommand.CommandType type() {
+        return UserProfileCommand.CommandType.COLLECT;
+    }
+
+    @Override
+    public void apply(Map<UserProfilePropertyName, UserProfilePropertyValue> userProfileProperties, Map<String, Object> commandProperties) {
+        for (Map.Entry<String, Object> entry : commandProperties.entrySet()) {
+            UserProfilePropertyName propertyName = UserProfilePropertyName.valueOf(entry.getKey());
+            UserProfilePropertyValue currentValue = userProfileProperties.get(propertyName);
+            CollectPolicy policy = collectConfiguration.policyFor(entry.getKey());
+
+            if (currentValue != null && !(currentValue instanceof CollectionValue)
+                    && !(policy.getMode() == CollectPolicy.Mode.COUNT && currentValue instanceof LongValue)) {
+                throw new IllegalArgumentException();
+            }
+
+            List<?> elements = (List<?>) entry.getValue();
+            if (policy.getMode() == CollectPolicy.Mode.COUNT) {
+                count(userProfileProperties, propertyName, currentValue, elements.size());
+            } else if (isStoredAs(policy, currentValue)) {
+                ((CollectionValue) currentValue).addAll(elements);
+            } else {
+                CollectionValue collected = newValue(policy);
+                if (currentValue != null) {
+                    collected.addAll(((CollectionValue) currentValue).elements());
+                }
+                collected.addAll(elements);
+                userProfileProperties.put(propertyName, collected);
+            }
+        }
+    }
+
+    private static void count(Map<UserProfilePropertyName, UserProfilePropertyValue> userProfileProperties,
+                              UserProfilePropertyName propertyName, UserProfilePropertyValue currentValue, int collected) {
+        if (currentValue instanceof LongValue counter) {
+            counter.add(collected);
+        } else {
+            int alreadyCollected = currentValue == null ? 0 : ((CollectionValue) currentValue).elements().size();
+            userProfileProperties.put(propertyName, UserProfilePropertyValue.valueOf((long) alreadyCollected + collected));
+        }
+    }
+
+    private static boolean isStoredAs(CollectPolicy policy, UserProfilePropertyValue value) {
+        return switch (policy.getMode()) {
+            case APPEND -> value instanceof ListValue;
+            case BOUNDED -> value instanceof BoundedListValue list && list.maxLength() == policy.getMaxLength();
+            case SET -> value instanceof SetValue set && set.maxLength() == policy.getMaxLength();
+            case COUNT -> value instanceof LongValue;
+        };
+    }
+
+    private static CollectionValue newValue(CollectPolicy policy) {
+        return switch (policy.getMode()) {
+            case BOUNDED -> UserProfilePropertyValue.boundedList(policy.getMaxLength());
+            case SET -> UserProfilePropertyValue.set(policy.getMaxLength());
+            default -> (CollectionValue) UserProfilePropertyValue.valueOf(List.of());
+        };
+    }
+}
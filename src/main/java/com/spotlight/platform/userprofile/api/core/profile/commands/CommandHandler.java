@@ -0,0 +1,17 @@
+package com.spotlight.platform.userprofile.api.core.profile.commands;
+
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import java.util.Map;
+
+/**
+ * Applies one command type to the properties of an already loaded profile. Handlers are registered through a Guice multibinder in
+ * {@code ProfileModule}; they must not load or store profiles themselves.
+ */
+public interface CommandHandler {
+    UserProfileCommand.CommandType type();
+
+    void apply(Map<UserProfilePropertyName, UserProfilePropertyValue> userProfileProperties, Map<String, Object> commandProperties);
+}
@@ -0,0 +1,29 @@
+package com.spotlight.platform.userprofile.api.core.profile.commands;
+
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+
+import javax.inject.Inject;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+public class CommandHandlerRegistry {
+    private final Map<UserProfileCommand.CommandType, CommandHandler> handlers = new EnumMap<>(UserProfileCommand.CommandType.class);
+
+    @Inject
+    public CommandHandlerRegistry(Set<CommandHandler> handlers) {
+        for (CommandHandler handler : handlers) {
+            if (this.handlers.put(handler.type(), handler) != null) {
+                throw new IllegalStateException("More than one handler registered for command type " + handler.type());
+            }
+        }
+    }
+
+    public CommandHandler get(UserProfileCommand.CommandType type) {
+        CommandHandler handler = type == null ? null : handlers.get(type);
+        if (handler == null) {
+            throw new IllegalArgumentException("No handler registered for command type " + type);
+        }
+        return handler;
+    }
+}
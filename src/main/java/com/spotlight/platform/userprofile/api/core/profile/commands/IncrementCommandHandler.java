@@ -0,0 +1,53 @@
+package com.spotlight.platform.userprofile.api.core.profile.commands;
+
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue.DoubleValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue.LongValue;
+
+import java.util.Map;
+
+/**
+ * Adds to existing counters in place. Integral increments of a long counter are exact and fail instead of overflowing; a fractional
+ * increment turns a long counter into a double one.
+ */
+public class IncrementCommandHandler implements CommandHandler {
+    @Override
+    public UserProfileCommand.CommandType type() {
+        return UserProfileCommand.CommandType.INCREMENT;
+    }
+
+    @Override
+    public void apply(Map<UserProfilePropertyName, UserProfilePropertyValue> userProfileProperties, Map<String, Object> commandProperties) {
+        for (Map.Entry<String, Object> entry : commandProperties.entrySet()) {
+            UserProfilePropertyName propertyName = UserProfilePropertyName.valueOf(entry.getKey());
+            UserProfilePropertyValue currentValue = userProfileProperties.get(propertyName);
+
+            if (currentValue == null) {
+                userProfileProperties.put(propertyName, UserProfilePropertyValue.valueOf((Number) entry.getValue()));
+            } else if (currentValue instanceof LongValue counter && isIntegral(entry.getValue())) {
+                add(propertyName, counter, ((Number) entry.getValue()).longValue());
+            } else if (currentValue instanceof DoubleValue counter) {
+                counter.add(((Number) entry.getValue()).doubleValue());
+            } else if (currentValue instanceof LongValue counter) {
+                userProfileProperties.put(propertyName,
+                        UserProfilePropertyValue.valueOf(counter.longValue() + ((Number) entry.getValue()).doubleValue()));
+            } else {
+                throw new IllegalArgumentException();
+            }
+        }
+    }
+
+    private static void add(UserProfilePropertyName propertyName, LongValue counter, long value) {
+        try {
+            counter.add(value);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Incrementing " + propertyName + " overflows", e);
+        }
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+}
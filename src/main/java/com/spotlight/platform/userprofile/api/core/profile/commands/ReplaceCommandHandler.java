@@ -0,0 +1,21 @@
+package com.spotlight.platform.userprofile.api.core.profile.commands;
+
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import java.util.Map;
+
+public class ReplaceCommandHandler implements CommandHandler {
+    @Override
+    public UserProfileCommand.CommandType type() {
+        return UserProfileCommand.CommandType.REPLACE;
+    }
+
+    @Override
+    public void apply(Map<UserProfilePropertyName, UserProfilePropertyValue> userProfileProperties, Map<String, Object> commandProperties) {
+        for (Map.Entry<String, Object> entry : commandProperties.entrySet()) {
+            userProfileProperties.put(UserProfilePropertyName.valueOf(entry.getKey()), UserProfilePropertyValue.valueOf(entry.getValue()));
+        }
+    }
+}
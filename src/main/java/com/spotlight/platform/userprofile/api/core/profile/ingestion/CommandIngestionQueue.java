@@ -0,0 +1,149 @@
+package com.spotlight.platform.userprofile.api.core.profile.ingestion;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.spotlight.platform.userprofile.api.core.profile.UserProfileService;
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommandResult;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import io.dropwizard.lifecycle.Managed;
+
+/**
+ * Bounded in-memory queue of accepted commands, applied in the background. The users are partitioned by the hash of their id over the
+ * workers; every worker is the only writer of its users, drains its lane in batches and applies them on its own thread, so the
+ * commands of a user are applied in the order they were accepted.
+ *
+ * <p>The capacity is shared by all lanes and reserved for a whole request before anything is enqueued: {@link #offer(List)} either
+ * accepts all commands or none. Permits are returned once a command is applied.
+ */
+public class CommandIngestionQueue implements Managed {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CommandIngestionQueue.class);
+    private static final int MAX_BATCH_SIZE = 512;
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+
+    private final UserProfileService userProfileService;
+    private final ThreadFactory workerThreads;
+    private final int capacity;
+    private final Semaphore freeCapacity;
+    private final List<BlockingQueue<UserProfileCommand>> lanes = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter failed;
+
+    private volatile boolean running;
+
+    public CommandIngestionQueue(UserProfileService userProfileService, int workerCount, int capacity, ThreadFactory workerThreads,
+                                 MetricRegistry metrics) {
+        this.userProfileService = userProfileService;
+        this.workerThreads = workerThreads;
+        this.capacity = capacity;
+        this.freeCapacity = new Semaphore(capacity);
+        for (int lane = 0; lane < workerCount; lane++) {
+            lanes.add(new LinkedBlockingQueue<>());
+        }
+        this.accepted = metrics.counter(MetricRegistry.name(CommandIngestionQueue.class, "accepted"));
+        this.rejected = metrics.counter(MetricRegistry.name(CommandIngestionQueue.class, "rejected"));
+        this.failed = metrics.counter(MetricRegistry.name(CommandIngestionQueue.class, "failed"));
+        metrics.gauge(MetricRegistry.name(CommandIngestionQueue.class, "pending"), () -> this::pending);
+    }
+
+    /**
+     * Enqueues all commands, or none of them if the queue doesn't have room for all of them or isn't running.
+     *
+     * @return whether the commands were accepted
+     */
+    public boolean offer(List<UserProfileCommand> commands) {
+        if (!running || !freeCapacity.tryAcquire(commands.size())) {
+            rejected.inc(commands.size());
+            return false;
+        }
+        for (UserProfileCommand command : commands) {
+            lanes.get(Math.floorMod(command.getUserId().hashCode(), lanes.size())).add(command);
+        }
+        accepted.inc(commands.size());
+        return true;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Commands accepted and not applied yet.
+     */
+    public int pending() {
+        return capacity - freeCapacity.availablePermits();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (BlockingQueue<UserProfileCommand> queue : lanes) {
+            Thread worker = workerThreads.newThread(() -> drain(queue));
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * Stops accepting commands and waits for the workers to apply the ones already accepted.
+     */
+    @Override
+    public void stop() throws InterruptedException {
+        running = false;
+        long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MILLIS;
+        for (Thread worker : workers) {
+            worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+            worker.interrupt();
+        }
+        if (pending() > 0) {
+            LOGGER.warn("Stopped command ingestion with {} accepted commands not applied", pending());
+        }
+    }
+
+    private void drain(BlockingQueue<UserProfileCommand> queue) {
+        List<UserProfileCommand> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        try {
+            while (running || !queue.isEmpty()) {
+                UserProfileCommand first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                apply(batch);
+                freeCapacity.release(batch.size());
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void apply(List<UserProfileCommand> batch) {
+        try {
+            for (UserProfileCommandResult result : userProfileService.processCommandsOnCallingThread(batch)) {
+                if (result.isFailed()) {
+                    failed.inc();
+                    LOGGER.warn("Accepted command failed: {}", result.error());
+                }
+            }
+        } catch (RuntimeException e) {
+            failed.inc(batch.size());
+            LOGGER.error("Applying {} accepted commands failed", batch.size(), e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence;
+
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Looks up the profiles of a list of users with one task per partition of the store, so that the partitions are read in parallel, and
+ * streams the results in the order of the ids. The ids are taken a window of {@value #WINDOW_SIZE} at a time; the next window is looked
+ * up while the current one is consumed, so at most two windows of profiles are held however many ids are requested.
+ *
+ * <p>Lookups run on the common fork-join pool: they only read the store and never block.
+ */
+final class PartitionedLookup implements Iterator<Optional<UserProfile>> {
+    static final int WINDOW_SIZE = 1_024;
+
+    private final List<UserId> userIds;
+    private final int partitionCount;
+    private final ToIntFunction<UserId> partitionOf;
+    private final Function<UserId, Optional<UserProfile>> lookup;
+
+    private Window current;
+    private Window next;
+    private int position;
+
+    private PartitionedLookup(List<UserId> userIds, int partitionCount, ToIntFunction<UserId> partitionOf,
+                              Function<UserId, Optional<UserProfile>> lookup) {
+        this.userIds = userIds;
+        this.partitionCount = partitionCount;
+        this.partitionOf = partitionOf;
+        this.lookup = lookup;
+    }
+
+    /**
+     * The profiles of the users in the order of the ids. Nothing is looked up before the stream is consumed.
+     *
+     * @param partitionOf the partition of a user id, from {@code 0} to {@code partitionCount - 1}
+     */
+    static Stream<Optional<UserProfile>> getAll(List<UserId> userIds, int partitionCount, ToIntFunction<UserId> partitionOf,
+                                                Function<UserId, Optional<UserProfile>> lookup) {
+        var lookups = new PartitionedLookup(userIds, partitionCount, partitionOf, lookup);
+        return StreamSupport.stream(Spliterators.spliterator(lookups, userIds.size(), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return position < userIds.size();
+    }
+
+    @Override
+    public Optional<UserProfile> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (current == null || position == current.end) {
+            current = next == null ? new Window(position) : next;
+            next = current.end < userIds.size() ? new Window(current.end) : null;
+            current.await();
+        }
+        return Optional.ofNullable(current.profiles[position++ - current.start]);
+    }
+
+    /**
+     * The ids from {@code start} to {@code end}, looked up by one task per partition. Missing profiles stay {@code null}.
+     */
+    private final class Window {
+        private final int start;
+        private final int end;
+        private final UserProfile[] profiles;
+        private final CompletableFuture<Void> lookups;
+
+        private Window(int start) {
+            this.start = start;
+            this.end = Math.min(userIds.size(), start + WINDOW_SIZE);
+            this.profiles = new UserProfile[end - start];
+            var partitions = new int[end - start];
+            var partitionSizes = new int[partitionCount];
+            for (int i = 0; i < partitions.length; i++) {
+                partitions[i] = partitionOf.applyAsInt(userIds.get(start + i));
+                partitionSizes[partitions[i]]++;
+            }
+            List<CompletableFuture<Void>> partitionLookups = new ArrayList<>(partitionCount);
+            for (int partition = 0; partition < partitionCount; partition++) {
+                if (partitionSizes[partition] == 0) {
+                    continue;
+                }
+                int lookedUpPartition = partition;
+                partitionLookups.add(CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < partitions.length; i++) {
+                        if (partitions[i] == lookedUpPartition) {
+                            profiles[i] = lookup.apply(userIds.get(start + i)).orElse(null);
+                        }
+                    }
+                }));
+            }
+            this.lookups = CompletableFuture.allOf(partitionLookups.toArray(CompletableFuture[]::new));
+        }
+
+        private void await() {
+            try {
+                lookups.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -3,10 +3,34 @@ package com.spotlight.platform.userprofile.api.core.profile.persistence;
 import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
 import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 public interface UserProfileDao {
     Optional<UserProfile> get(UserId userId);
 
+    /**
+     * The profiles of the users in the order of the ids. Each profile is looked up when the stream reaches it, so a caller can write
+     * results out while later ones are still unread.
+     */
+    default Stream<Optional<UserProfile>> getAll(List<UserId> userIds) {
+        return userIds.stream().map(this::get);
+    }
+
     void put(UserProfile userProfile);
+
+    /**
+     * Atomically replaces the profile of the user with the result of the operator. The operator receives {@code null} when the user has
+     * no profile yet and is never run concurrently with another update of the same user. A {@code null} result removes the profile.
+     */
+    UserProfile update(UserId userId, UnaryOperator<UserProfile> operator);
+
+    /**
+     * Passes every stored profile to the consumer. Stored profiles are never changed, so the consumer sees each one in a consistent
+     * state; updates that run meanwhile may or may not be seen.
+     */
+    void forEach(Consumer<UserProfile> consumer);
 }
@@ -6,6 +6,8 @@ import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 public class UserProfileDaoInMemory implements UserProfileDao {
     private final Map<UserId, UserProfile> storage = new ConcurrentHashMap<>();
@@ -19,4 +21,19 @@ public class UserProfileDaoInMemory implements UserProfileDao {
     public void put(UserProfile userProfile) {
         storage.put(userProfile.userId(), userProfile);
     }
+
+    @Override
+    public UserProfile update(UserId userId, UnaryOperator<UserProfile> operator) {
+        return storage.compute(userId, (id, userProfile) -> operator.apply(userProfile));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Stored profiles are never changed, so the consumer runs on the map's values without blocking any writer.
+     */
+    @Override
+    public void forEach(Consumer<UserProfile> consumer) {
+        storage.values().forEach(consumer);
+    }
 }
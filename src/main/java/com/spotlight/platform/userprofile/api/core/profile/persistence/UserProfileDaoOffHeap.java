@@ -0,0 +1,389 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.journal.SnapshotEntry;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Keeps serialized profiles in direct memory so that the heap only holds the index, whatever the number of users.
+ *
+ * <p>Records {@code [key length][profile length][user id][profile]} are appended to fixed size direct chunks and never modified; an
+ * update appends a new record and repoints the index. The index is an open-addressing table of record addresses, probed linearly and
+ * compared against the stored user id; removed users leave a tombstone until the table is rehashed. Records orphaned by updates and
+ * removals are reclaimed once they make up half of the used memory by sliding the live records down within the chunks they already
+ * occupy, so compaction needs no extra direct memory. Chunks emptied by it are kept and reused by later appends.
+ *
+ * <p>Updates of one user are serialized by a striped lock, reads take no lock but the shared side of the structure lock, which resizing
+ * and compaction take exclusively.
+ */
+public class UserProfileDaoOffHeap implements UserProfileDao {
+    public static final String CHUNK_SIZE = "offHeapChunkSize";
+
+    private static final int RECORD_HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int INITIAL_CAPACITY = 1 << 16;
+    private static final int LOCK_STRIPES = 1024;
+    private static final int LOOKUP_PARTITIONS = Runtime.getRuntime().availableProcessors();
+    private static final long EMPTY = 0;
+    private static final long TOMBSTONE = -1;
+
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final ReadWriteLock structureLock = new ReentrantReadWriteLock();
+    private final Lock[] stripes = new Lock[LOCK_STRIPES];
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger tombstones = new AtomicInteger();
+    private final AtomicLong usedBytes = new AtomicLong();
+    private final AtomicLong garbageBytes = new AtomicLong();
+
+    private volatile AtomicLongArray index = new AtomicLongArray(INITIAL_CAPACITY);
+    private volatile ByteBuffer[] chunks = new ByteBuffer[0];
+    private int chunkCount;
+    private int chunkOffset;
+
+    @Inject
+    public UserProfileDaoOffHeap(ObjectMapper objectMapper, @Named(CHUNK_SIZE) int chunkSize) {
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        Arrays.setAll(stripes, i -> new ReentrantLock());
+    }
+
+    @Override
+    public Optional<UserProfile> get(UserId userId) {
+        byte[] key = key(userId);
+        structureLock.readLock().lock();
+        try {
+            int slot = find(index, key);
+            return slot < 0 ? Optional.empty() : Optional.of(readProfile(index.get(slot)));
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Reading a profile means deserializing it, so the ids are split by hash into one partition per processor and the partitions are
+     * looked up in parallel.
+     */
+    @Override
+    public Stream<Optional<UserProfile>> getAll(List<UserId> userIds) {
+        return PartitionedLookup.getAll(userIds, LOOKUP_PARTITIONS, userId -> Math.floorMod(userId.hashCode(), LOOKUP_PARTITIONS),
+                this::get);
+    }
+
+    @Override
+    public void put(UserProfile userProfile) {
+        update(userProfile.userId(), existing -> userProfile);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The operator works on a deserialized copy, so changes to the profile only become visible through the returned value. Returning
+     * that copy itself writes nothing.
+     */
+    @Override
+    public UserProfile update(UserId userId, UnaryOperator<UserProfile> operator) {
+        byte[] key = key(userId);
+        maintain();
+        structureLock.readLock().lock();
+        Lock stripe = stripes[(hash(key) & Integer.MAX_VALUE) % LOCK_STRIPES];
+        stripe.lock();
+        try {
+            AtomicLongArray table = index;
+            int slot = find(table, key);
+            long previous = slot < 0 ? EMPTY : table.get(slot);
+            UserProfile current = previous == EMPTY ? null : readProfile(previous);
+            UserProfile updated = operator.apply(current);
+            if (updated == current) {
+                return updated;
+            }
+            if (updated == null) {
+                table.set(slot, TOMBSTONE);
+                size.decrementAndGet();
+                tombstones.incrementAndGet();
+                garbageBytes.addAndGet(recordLength(previous));
+                return null;
+            }
+            long address = write(key, serialize(updated));
+            if (previous == EMPTY) {
+                insert(table, key, address);
+            } else {
+                table.set(slot, address);
+                garbageBytes.addAndGet(recordLength(previous));
+            }
+            return updated;
+        } finally {
+            stripe.unlock();
+            structureLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<UserProfile> consumer) {
+        structureLock.readLock().lock();
+        try {
+            AtomicLongArray table = index;
+            for (int slot = 0; slot < table.length(); slot++) {
+                long address = table.get(slot);
+                if (isRecord(address)) {
+                    consumer.accept(readProfile(address));
+                }
+            }
+        } finally {
+            structureLock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Direct memory held by records, including the ones orphaned by updates and not yet compacted.
+     */
+    public long usedBytes() {
+        return usedBytes.get();
+    }
+
+    /**
+     * Direct memory allocated for chunks, including the ones emptied by compaction and kept for reuse.
+     */
+    public long allocatedBytes() {
+        return (long) chunks.length * chunkSize;
+    }
+
+    private void maintain() {
+        if (!isIndexFull() && !isFragmented()) {
+            return;
+        }
+        structureLock.writeLock().lock();
+        try {
+            if (isFragmented()) {
+                compact();
+            }
+            if (isIndexFull()) {
+                rehash(size.get() * 2L >= index.length() ? index.length() * 2 : index.length());
+            }
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    private boolean isIndexFull() {
+        return (size.get() + tombstones.get()) * 4L >= index.length() * 3L;
+    }
+
+    private boolean isFragmented() {
+        return usedBytes.get() > chunkSize && garbageBytes.get() * 2 > usedBytes.get();
+    }
+
+    /**
+     * Re-inserts every live address into a fresh table of the given capacity, dropping the tombstones. Records are not moved. Must hold
+     * the structure lock exclusively.
+     */
+    private void rehash(int capacity) {
+        AtomicLongArray oldIndex = index;
+        var newIndex = new AtomicLongArray(capacity);
+        for (int slot = 0; slot < oldIndex.length(); slot++) {
+            long address = oldIndex.get(slot);
+            if (isRecord(address)) {
+                insertUnique(newIndex, keyHash(address), address);
+            }
+        }
+        tombstones.set(0);
+        index = newIndex;
+    }
+
+    /**
+     * Slides every live record down, in address order, to right after the previous live one. A record never moves past its own position,
+     * so it is copied before anything overwrites it. Must hold the structure lock exclusively.
+     */
+    private void compact() {
+        AtomicLongArray oldIndex = index;
+        long[] live = new long[size.get()];
+        int count = 0;
+        for (int slot = 0; slot < oldIndex.length(); slot++) {
+            long address = oldIndex.get(slot);
+            if (isRecord(address)) {
+                live[count++] = address;
+            }
+        }
+        Arrays.sort(live, 0, count);
+        var newIndex = new AtomicLongArray(oldIndex.length());
+        chunkCount = 0;
+        chunkOffset = 0;
+        usedBytes.set(0);
+        garbageBytes.set(0);
+        for (int i = 0; i < count; i++) {
+            ByteBuffer chunk = chunks[chunkIndex(live[i])];
+            int offset = chunkOffset(live[i]);
+            var record = new byte[recordLength(live[i])];
+            chunk.get(offset, record);
+            long address = allocate(record.length);
+            chunks[chunkIndex(address)].put(chunkOffset(address), record);
+            usedBytes.addAndGet(record.length);
+            insertUnique(newIndex, keyHash(address), address);
+        }
+        tombstones.set(0);
+        index = newIndex;
+    }
+
+    private long write(byte[] key, byte[] profile) {
+        int length = RECORD_HEADER_BYTES + key.length + profile.length;
+        if (length > chunkSize) {
+            throw new IllegalArgumentException("Profile of " + profile.length + " bytes does not fit into an off-heap chunk");
+        }
+        long address = allocate(length);
+        ByteBuffer chunk = chunks[chunkIndex(address)];
+        int offset = chunkOffset(address);
+        chunk.putInt(offset, key.length);
+        chunk.putInt(offset + Integer.BYTES, profile.length);
+        chunk.put(offset + RECORD_HEADER_BYTES, key);
+        chunk.put(offset + RECORD_HEADER_BYTES + key.length, profile);
+        usedBytes.addAndGet(length);
+        return address;
+    }
+
+    private synchronized long allocate(int length) {
+        if (chunkCount == 0 || chunkSize - chunkOffset < length) {
+            if (chunkCount == chunks.length) {
+                ByteBuffer[] grown = Arrays.copyOf(chunks, chunks.length + 1);
+                grown[chunks.length] = ByteBuffer.allocateDirect(chunkSize);
+                chunks = grown;
+            }
+            chunkCount++;
+            chunkOffset = 0;
+        }
+        long address = address(chunkCount - 1, chunkOffset);
+        chunkOffset += length;
+        return address;
+    }
+
+    private void insert(AtomicLongArray table, byte[] key, long address) {
+        int mask = table.length() - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            if (table.compareAndSet(slot, EMPTY, address)) {
+                size.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private void insertUnique(AtomicLongArray table, int hash, long address) {
+        int mask = table.length() - 1;
+        int slot = hash & mask;
+        while (table.get(slot) != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        table.set(slot, address);
+    }
+
+    private int find(AtomicLongArray table, byte[] key) {
+        int mask = table.length() - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            long address = table.get(slot);
+            if (address == EMPTY) {
+                return -1;
+            }
+            if (address != TOMBSTONE && hasKey(address, key)) {
+                return slot;
+            }
+        }
+    }
+
+    private boolean hasKey(long address, byte[] key) {
+        ByteBuffer chunk = chunks[chunkIndex(address)];
+        int offset = chunkOffset(address);
+        if (chunk.getInt(offset) != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (chunk.get(offset + RECORD_HEADER_BYTES + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private UserProfile readProfile(long address) {
+        ByteBuffer chunk = chunks[chunkIndex(address)];
+        int offset = chunkOffset(address);
+        var profile = new byte[chunk.getInt(offset + Integer.BYTES)];
+        chunk.get(offset + RECORD_HEADER_BYTES + chunk.getInt(offset), profile);
+        try {
+            return objectMapper.readValue(profile, SnapshotEntry.class).toUserProfile();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int keyHash(long address) {
+        ByteBuffer chunk = chunks[chunkIndex(address)];
+        int offset = chunkOffset(address);
+        var key = new byte[chunk.getInt(offset)];
+        chunk.get(offset + RECORD_HEADER_BYTES, key);
+        return hash(key);
+    }
+
+    private int recordLength(long address) {
+        ByteBuffer chunk = chunks[chunkIndex(address)];
+        int offset = chunkOffset(address);
+        return RECORD_HEADER_BYTES + chunk.getInt(offset) + chunk.getInt(offset + Integer.BYTES);
+    }
+
+    private byte[] serialize(UserProfile userProfile) {
+        try {
+            return objectMapper.writeValueAsBytes(SnapshotEntry.of(userProfile));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] key(UserId userId) {
+        return userId.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static boolean isRecord(long address) {
+        return address != EMPTY && address != TOMBSTONE;
+    }
+
+    private static int hash(byte[] key) {
+        int hash = Arrays.hashCode(key);
+        return hash ^ (hash >>> 16);
+    }
+
+    // Chunk 0 is stored as 1 so that no valid address equals EMPTY or TOMBSTONE.
+    private static long address(int chunkIndex, int offset) {
+        return ((long) (chunkIndex + 1) << 32) | offset;
+    }
+
+    private static int chunkIndex(long address) {
+        return (int) (address >>> 32) - 1;
+    }
+
+    private static int chunkOffset(long address) {
+        return (int) address;
+    }
+}
@@ -0,0 +1,214 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence;
+
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import io.dropwizard.lifecycle.Managed;
+
+/**
+ * Keeps profiles on the heap in shards chosen by the hash of the user id. Every shard is owned by one writer thread, which is the only
+ * thread that changes the shard: updates are queued on a lock-free queue and the caller waits until the writer has applied them. Updates
+ * of one user therefore never overlap without any locking, and reads go straight to the shard's map without waiting for the writer.
+ *
+ * <p>The writer threads run from {@link #start()} to {@link #stop()}; the DAO is managed before anything that loads profiles. Updates
+ * accepted before the stop are still applied, later ones fail with an {@link IllegalStateException}, as do updates before the start.
+ */
+public class UserProfileDaoSharded implements UserProfileDao, Managed {
+    public static final String SHARDS = "profileStoreShards";
+
+    private final Shard[] shards;
+
+    @Inject
+    public UserProfileDaoSharded(@Named(SHARDS) int shardCount) {
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard("profile-shard-" + i);
+        }
+    }
+
+    @Override
+    public Optional<UserProfile> get(UserId userId) {
+        return Optional.ofNullable(shardOf(userId).profiles.get(userId));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Each shard looks up its own ids, in parallel with the other shards; reads don't need the writer threads.
+     */
+    @Override
+    public Stream<Optional<UserProfile>> getAll(List<UserId> userIds) {
+        return PartitionedLookup.getAll(userIds, shards.length, this::shardIndexOf, this::get);
+    }
+
+    @Override
+    public void put(UserProfile userProfile) {
+        update(userProfile.userId(), existing -> userProfile);
+    }
+
+    @Override
+    public UserProfile update(UserId userId, UnaryOperator<UserProfile> operator) {
+        Shard shard = shardOf(userId);
+        return shard.call(() -> {
+            UserProfile updated = operator.apply(shard.profiles.get(userId));
+            if (updated == null) {
+                shard.profiles.remove(userId);
+            } else {
+                shard.profiles.put(userId, updated);
+            }
+            return updated;
+        });
+    }
+
+    @Override
+    public void forEach(Consumer<UserProfile> consumer) {
+        for (Shard shard : shards) {
+            shard.profiles.values().forEach(consumer);
+        }
+    }
+
+    @Override
+    public void start() {
+        for (Shard shard : shards) {
+            shard.start();
+        }
+    }
+
+    @Override
+    public void stop() throws InterruptedException {
+        for (Shard shard : shards) {
+            shard.close();
+        }
+        for (Shard shard : shards) {
+            shard.writer.join();
+        }
+    }
+
+    private Shard shardOf(UserId userId) {
+        return shards[shardIndexOf(userId)];
+    }
+
+    private int shardIndexOf(UserId userId) {
+        return Math.floorMod(userId.hashCode(), shards.length);
+    }
+
+    private static final class Shard {
+        private final Map<UserId, UserProfile> profiles = new ConcurrentHashMap<>();
+        private final Queue<Task<?>> tasks = new ConcurrentLinkedQueue<>();
+        private final Thread writer;
+        private volatile boolean started;
+        private volatile boolean closed;
+        private volatile boolean stopped;
+
+        private Shard(String name) {
+            writer = new Thread(this::write, name);
+            writer.setDaemon(true);
+        }
+
+        private void start() {
+            started = true;
+            writer.start();
+        }
+
+        /**
+         * Runs the action on the writer thread and returns its result. Called from the writer itself, for example by a nested update,
+         * the action runs right away since the writer cannot wait for itself.
+         */
+        private <T> T call(Supplier<T> action) {
+            if (Thread.currentThread() == writer) {
+                return action.get();
+            }
+            if (!started) {
+                throw new IllegalStateException("Profile store is not started");
+            }
+            if (closed) {
+                throw new IllegalStateException("Profile store is stopped");
+            }
+            var task = new Task<>(action);
+            tasks.offer(task);
+            LockSupport.unpark(writer);
+            // The writer may have drained the queue for the last time before the offer.
+            if (stopped) {
+                failPending();
+            }
+            return task.await();
+        }
+
+        /**
+         * Runs tasks until closed, then drains the queue: everything offered before the close is still run. Tasks offered while the
+         * writer stops are failed by whichever of the writer and their caller polls them first.
+         */
+        private void write() {
+            while (!closed) {
+                Task<?> task = tasks.poll();
+                if (task == null) {
+                    LockSupport.park(this);
+                } else {
+                    task.run();
+                }
+            }
+            Task<?> task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+            stopped = true;
+            failPending();
+        }
+
+        private void close() {
+            closed = true;
+            LockSupport.unpark(writer);
+        }
+
+        private void failPending() {
+            Task<?> task;
+            while ((task = tasks.poll()) != null) {
+                task.result.completeExceptionally(new IllegalStateException("Profile store is stopped"));
+            }
+        }
+    }
+
+    private record Task<T>(Supplier<T> action, CompletableFuture<T> result) {
+        private Task(Supplier<T> action) {
+            this(action, new CompletableFuture<>());
+        }
+
+        private void run() {
+            try {
+                result.complete(action.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        private T await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+    }
+}
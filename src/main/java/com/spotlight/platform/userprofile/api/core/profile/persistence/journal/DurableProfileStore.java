@@ -0,0 +1,121 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.journal;
+
+import com.spotlight.platform.userprofile.api.core.profile.UserProfileService;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import io.dropwizard.lifecycle.Managed;
+
+/**
+ * Makes a {@link UserProfileDao} survive restarts. On start the latest snapshot is loaded and the journal tail written after it is
+ * replayed; while running, snapshots are taken periodically and the journal segments they cover are deleted.
+ */
+public class DurableProfileStore implements Managed {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DurableProfileStore.class);
+
+    private final UserProfileDao userProfileDao;
+    private final UserProfileService userProfileService;
+    private final WriteAheadLog writeAheadLog;
+    private final ProfileSnapshots profileSnapshots;
+    private final Duration snapshotInterval;
+
+    private ScheduledExecutorService snapshotScheduler;
+
+    public DurableProfileStore(UserProfileDao userProfileDao, UserProfileService userProfileService, WriteAheadLog writeAheadLog,
+                               ProfileSnapshots profileSnapshots, Duration snapshotInterval) {
+        this.userProfileDao = userProfileDao;
+        this.userProfileService = userProfileService;
+        this.writeAheadLog = writeAheadLog;
+        this.profileSnapshots = profileSnapshots;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    @Override
+    public void start() throws IOException {
+        recover();
+        writeAheadLog.open();
+        snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "profile-snapshots");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotScheduler.scheduleWithFixedDelay(this::snapshotQuietly, snapshotInterval.toMillis(), snapshotInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() throws InterruptedException {
+        snapshotScheduler.shutdown();
+        snapshotScheduler.awaitTermination(snapshotInterval.toMillis(), TimeUnit.MILLISECONDS);
+        writeAheadLog.close();
+    }
+
+    public void snapshot() throws IOException {
+        long replayFromSegment = writeAheadLog.rotate();
+        profileSnapshots.write(replayFromSegment, userProfileDao);
+        profileSnapshots.deleteBefore(replayFromSegment);
+        writeAheadLog.deleteSegmentsBefore(replayFromSegment);
+    }
+
+    private void recover() throws IOException {
+        var latestSnapshot = profileSnapshots.latest();
+        if (latestSnapshot.isPresent()) {
+            profileSnapshots.read(latestSnapshot.get(), entry -> userProfileDao.put(entry.toUserProfile()));
+        }
+        Map<UserId, NavigableMap<Long, JournalEntry>> waitingEntries = new HashMap<>();
+        writeAheadLog.replay(latestSnapshot.orElse(0L), entry -> replayInVersionOrder(entry, waitingEntries));
+        // What still waits follows a command lost in a crash before it was written, and so before it was acknowledged.
+        waitingEntries.values().forEach(entries -> entries.values().forEach(this::replay));
+    }
+
+    /**
+     * Commands are journaled after the DAO stored them, so the entries of a user can be out of version order. An entry that skips a
+     * version waits until the missing one has been replayed.
+     */
+    private void replayInVersionOrder(JournalEntry entry, Map<UserId, NavigableMap<Long, JournalEntry>> waitingEntries) {
+        UserId userId = entry.command().getUserId();
+        if (entry.version() > storedVersion(userId) + 1) {
+            waitingEntries.computeIfAbsent(userId, id -> new TreeMap<>()).put(entry.version(), entry);
+            return;
+        }
+        replay(entry);
+        NavigableMap<Long, JournalEntry> waitingOfUser = waitingEntries.get(userId);
+        while (waitingOfUser != null && waitingOfUser.firstKey() <= storedVersion(userId) + 1) {
+            replay(waitingOfUser.pollFirstEntry().getValue());
+            if (waitingOfUser.isEmpty()) {
+                waitingEntries.remove(userId);
+                waitingOfUser = null;
+            }
+        }
+    }
+
+    private void replay(JournalEntry entry) {
+        userProfileService.replay(entry.command(), entry.version(), entry.updateTime());
+    }
+
+    private long storedVersion(UserId userId) {
+        return userProfileDao.get(userId).map(UserProfile::version).orElse(0L);
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Taking a profile snapshot failed, the journal is kept until the next one succeeds", e);
+        }
+    }
+}
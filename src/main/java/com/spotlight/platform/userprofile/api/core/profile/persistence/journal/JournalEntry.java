@@ -0,0 +1,12 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.journal;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+
+import java.time.Instant;
+
+public record JournalEntry(@JsonProperty long version,
+                           @JsonProperty @JsonFormat(shape = JsonFormat.Shape.STRING) Instant updateTime,
+                           @JsonProperty UserProfileCommand command) {
+}
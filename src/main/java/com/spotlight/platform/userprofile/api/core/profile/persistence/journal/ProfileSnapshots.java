@@ -0,0 +1,98 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Snapshot files hold one {@link SnapshotEntry} per profile. A snapshot is named after the journal segment from which replay has to
+ * start on top of it, and only becomes visible through an atomic rename once it is completely on disk.
+ */
+public class ProfileSnapshots {
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".json";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+
+    public ProfileSnapshots(Path directory, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+    }
+
+    public void write(long replayFromSegment, UserProfileDao userProfileDao) throws IOException {
+        Files.createDirectories(directory);
+        Path snapshot = snapshotPath(replayFromSegment);
+        Path temporary = snapshot.resolveSibling(snapshot.getFileName() + TEMPORARY_SUFFIX);
+        try (var output = new FileOutputStream(temporary.toFile());
+             var entries = objectMapper.writer().withRootValueSeparator("\n").writeValues(output)) {
+            userProfileDao.forEach(userProfile -> {
+                try {
+                    entries.write(SnapshotEntry.of(userProfile));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            entries.flush();
+            output.getFD().sync();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Files.move(temporary, snapshot, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Returns the journal segment the latest snapshot was taken at.
+     */
+    public Optional<Long> latest() throws IOException {
+        List<Long> snapshots = snapshotIndexes();
+        return snapshots.isEmpty() ? Optional.empty() : Optional.of(snapshots.get(snapshots.size() - 1));
+    }
+
+    public void read(long replayFromSegment, Consumer<SnapshotEntry> consumer) throws IOException {
+        try (InputStream input = Files.newInputStream(snapshotPath(replayFromSegment));
+             var entries = objectMapper.readerFor(SnapshotEntry.class).<SnapshotEntry>readValues(input)) {
+            while (entries.hasNextValue()) {
+                consumer.accept(entries.nextValue());
+            }
+        }
+    }
+
+    public void deleteBefore(long replayFromSegment) throws IOException {
+        for (long index : snapshotIndexes()) {
+            if (index < replayFromSegment) {
+                Files.deleteIfExists(snapshotPath(index));
+            }
+        }
+    }
+
+    private List<Long> snapshotIndexes() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length())))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Path snapshotPath(long replayFromSegment) {
+        return directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, replayFromSegment, SNAPSHOT_SUFFIX));
+    }
+}
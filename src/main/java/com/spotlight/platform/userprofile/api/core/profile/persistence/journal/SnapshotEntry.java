@@ -0,0 +1,17 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.journal;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.spotlight.platform.userprofile.api.model.profile.CompactPropertyMap;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+
+public record SnapshotEntry(@JsonProperty long version, @JsonProperty UserProfile userProfile) {
+
+    public static SnapshotEntry of(UserProfile userProfile) {
+        return new SnapshotEntry(userProfile.version(), userProfile);
+    }
+
+    public UserProfile toUserProfile() {
+        return new UserProfile(userProfile.userId(), userProfile.latestUpdateTime(),
+                CompactPropertyMap.copyOf(userProfile.userProfileProperties()), version);
+    }
+}
@@ -0,0 +1,377 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.journal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spotlight.platform.userprofile.api.core.profile.CommandJournal;
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Command journal written to memory-mapped segment files of a fixed size. Every record is {@code [length][crc32][json entry]}; the
+ * zero-filled remainder of a segment marks its end and a checksum mismatch marks a torn write.
+ *
+ * <p>Commands are written after the DAO stored their result, so the entries of one user can end up out of version order within a
+ * segment; replay has to put them back in order. An update returns only once its entries are forced to disk, and concurrent updates
+ * share one force (group commit). With a zero fsync interval the first waiting update forces everything appended so far and the others
+ * wait for it; with a positive interval a background thread forces once per interval, so updates wait for up to one interval and
+ * more of them share each force.
+ *
+ * <p>A failed force is kept: the records it should have written may be lost, so every waiting and every later update fails instead of
+ * waiting for a force that never comes.
+ */
+public class WriteAheadLog implements CommandJournal, Closeable {
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final int RECORD_HEADER_BYTES = 2 * Integer.BYTES;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long fsyncIntervalMillis;
+    private final ObjectMapper objectMapper;
+    private final ReadWriteLock rotationLock = new ReentrantReadWriteLock();
+    // Locks rather than monitors, so that a virtual thread forcing a segment to disk doesn't pin its carrier thread.
+    private final Lock segmentLock = new ReentrantLock();
+    private final Lock forceLock = new ReentrantLock();
+    private final Condition forced = forceLock.newCondition();
+    private final AtomicLong forcedRecords = new AtomicLong();
+
+    private ScheduledExecutorService flusher;
+    private MappedByteBuffer segment;
+    private long segmentIndex = -1;
+    private long appendedRecords;
+    private volatile boolean open;
+    private volatile RuntimeException forceFailure;
+
+    public WriteAheadLog(Path directory, int segmentSize, Duration fsyncInterval, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsyncIntervalMillis = fsyncInterval.toMillis();
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Starts appending to a fresh segment after the existing ones. Existing segments are never appended to, so a torn tail left by a
+     * crash stays the last record of its segment.
+     */
+    public void open() throws IOException {
+        Files.createDirectories(directory);
+        List<Long> existingSegments = segmentIndexes();
+        segmentLock.lock();
+        try {
+            openSegment(existingSegments.isEmpty() ? 0 : existingSegments.get(existingSegments.size() - 1) + 1);
+        } finally {
+            segmentLock.unlock();
+        }
+        open = true;
+        if (fsyncIntervalMillis > 0) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                var thread = new Thread(runnable, "journal-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flush, fsyncIntervalMillis, fsyncIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Recorded commands are serialized and checked while the update runs, so a command that can't be journaled fails the update
+     * before anything is stored.
+     */
+    @Override
+    public <T> T update(Function<Recorder, T> update) {
+        List<byte[]> records = new ArrayList<>(1);
+        T result;
+        long lastRecord;
+        rotationLock.readLock().lock();
+        try {
+            result = update.apply((updatedProfile, command) -> records.add(encode(updatedProfile, command)));
+            lastRecord = write(records);
+        } finally {
+            rotationLock.readLock().unlock();
+        }
+        if (!records.isEmpty()) {
+            awaitForced(lastRecord);
+        }
+        return result;
+    }
+
+    /**
+     * Journals a single command outside of a DAO update.
+     */
+    public void append(UserProfile updatedProfile, UserProfileCommand command) {
+        update(recorder -> {
+            recorder.append(updatedProfile, command);
+            return null;
+        });
+    }
+
+    /**
+     * Starts a new segment once all running updates have finished. Every command in an earlier segment is then visible in the DAO, so a
+     * snapshot taken afterwards only needs the returned segment and later ones to be complete.
+     */
+    public long rotate() {
+        rotationLock.writeLock().lock();
+        try {
+            segmentLock.lock();
+            try {
+                switchSegment();
+                return segmentIndex;
+            } finally {
+                segmentLock.unlock();
+            }
+        } finally {
+            rotationLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Passes every intact entry of the given segment and all later ones to the consumer, in append order.
+     */
+    public void replay(long fromSegment, Consumer<JournalEntry> consumer) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        for (long index : segmentIndexes()) {
+            if (index >= fromSegment) {
+                replaySegment(segmentPath(index), consumer);
+            }
+        }
+    }
+
+    public void deleteSegmentsBefore(long segmentIndex) throws IOException {
+        for (long index : segmentIndexes()) {
+            if (index < segmentIndex) {
+                Files.deleteIfExists(segmentPath(index));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        segmentLock.lock();
+        try {
+            open = false;
+            if (segment != null && forceFailure == null) {
+                force(segment);
+                forcedRecords.accumulateAndGet(appendedRecords, Math::max);
+                segment = null;
+            }
+        } finally {
+            segmentLock.unlock();
+        }
+        signalForced();
+    }
+
+    private byte[] encode(UserProfile updatedProfile, UserProfileCommand command) {
+        if (!open) {
+            throw new IllegalStateException("Journal is not open");
+        }
+        checkNotFailed();
+        byte[] payload = serialize(new JournalEntry(updatedProfile.version(), updatedProfile.latestUpdateTime(), command));
+        if (RECORD_HEADER_BYTES + payload.length > segmentSize) {
+            throw new IllegalArgumentException("Journal entry of " + payload.length + " bytes does not fit into a segment");
+        }
+        var checksum = new CRC32();
+        checksum.update(payload);
+        return ByteBuffer.allocate(RECORD_HEADER_BYTES + payload.length)
+                .putInt(payload.length)
+                .putInt((int) checksum.getValue())
+                .put(payload)
+                .array();
+    }
+
+    /**
+     * Writes the records to the mapped segment and returns the number of records appended so far, that is the sequence number of the
+     * last one.
+     */
+    private long write(List<byte[]> records) {
+        if (records.isEmpty()) {
+            return 0;
+        }
+        segmentLock.lock();
+        try {
+            if (segment == null) {
+                throw new IllegalStateException("Journal is not open");
+            }
+            for (byte[] record : records) {
+                if (segment.remaining() < record.length) {
+                    switchSegment();
+                }
+                segment.put(record);
+                appendedRecords++;
+            }
+            return appendedRecords;
+        } finally {
+            segmentLock.unlock();
+        }
+    }
+
+    /**
+     * Waits until the records up to the given one are on disk. Without a flusher the first waiting thread forces the segment while the others queue on
+     * the lock, and most of them find their records forced by then.
+     */
+    private void awaitForced(long lastRecord) {
+        if (forcedRecords.get() >= lastRecord) {
+            return;
+        }
+        forceLock.lock();
+        try {
+            while (forcedRecords.get() < lastRecord) {
+                checkNotFailed();
+                if (fsyncIntervalMillis == 0) {
+                    forceAppended();
+                } else {
+                    forced.awaitUninterruptibly();
+                }
+            }
+        } finally {
+            forceLock.unlock();
+        }
+    }
+
+    private void flush() {
+        forceAppended();
+        signalForced();
+    }
+
+    /**
+     * Forces every record appended so far, or records why it failed. The segment is forced outside the segment lock, so appends go on
+     * meanwhile.
+     */
+    private void forceAppended() {
+        long lastRecord;
+        MappedByteBuffer appendedSegment;
+        segmentLock.lock();
+        try {
+            lastRecord = appendedRecords;
+            appendedSegment = segment;
+        } finally {
+            segmentLock.unlock();
+        }
+        if (forceFailure == null && appendedSegment != null && forcedRecords.get() < lastRecord) {
+            try {
+                force(appendedSegment);
+            } catch (RuntimeException e) {
+                forceFailure = e;
+                return;
+            }
+            forcedRecords.accumulateAndGet(lastRecord, Math::max);
+        }
+    }
+
+    private void checkNotFailed() {
+        if (forceFailure != null) {
+            throw new IllegalStateException("Journal could not be forced to disk", forceFailure);
+        }
+    }
+
+    void force(MappedByteBuffer segment) {
+        segment.force();
+    }
+
+    private void signalForced() {
+        forceLock.lock();
+        try {
+            forced.signalAll();
+        } finally {
+            forceLock.unlock();
+        }
+    }
+
+    /**
+     * Forces the full segment and continues in a new one. The records of earlier segments are all on disk afterwards, so a later
+     * force of the new segment covers every record appended so far.
+     */
+    private void switchSegment() {
+        force(segment);
+        forcedRecords.accumulateAndGet(appendedRecords, Math::max);
+        try {
+            openSegment(segmentIndex + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void openSegment(long index) throws IOException {
+        try (var channel = FileChannel.open(segmentPath(index), StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            segmentIndex = index;
+        }
+    }
+
+    private void replaySegment(Path path, Consumer<JournalEntry> consumer) throws IOException {
+        MappedByteBuffer buffer;
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        while (buffer.remaining() >= RECORD_HEADER_BYTES) {
+            int length = buffer.getInt();
+            int expectedChecksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                return;
+            }
+            var payload = new byte[length];
+            buffer.get(payload);
+            var checksum = new CRC32();
+            checksum.update(payload);
+            if ((int) checksum.getValue() != expectedChecksum) {
+                return;
+            }
+            consumer.accept(objectMapper.readValue(payload, JournalEntry.class));
+        }
+    }
+
+    private byte[] serialize(JournalEntry entry) {
+        try {
+            return objectMapper.writeValueAsBytes(entry);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Command cannot be journaled", e);
+        }
+    }
+
+    private List<Long> segmentIndexes() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("%020d%s", index, SEGMENT_SUFFIX));
+    }
+}
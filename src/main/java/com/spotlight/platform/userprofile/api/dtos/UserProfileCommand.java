@@ -2,16 +2,20 @@ package com.spotlight.platform.userprofile.api.dtos;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
 import com.spotlight.platform.userprofile.api.web.validation.ValidUserProfileCommand;
 
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 import java.util.Map;
 
 @ValidUserProfileCommand
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class UserProfileCommand {
+    public static final int MAX_COMMAND_ID_LENGTH = 128;
+
     private UserId userId;
 
     private CommandType type;
@@ -19,17 +23,24 @@ public class UserProfileCommand {
 
     private Map<String, Object> properties;
 
+    private String commandId;
 
 
     public UserProfileCommand() {}
 
+    public UserProfileCommand(UserId userId, CommandType type, Map<String, Object> properties) {
+        this(userId, type, properties, null);
+    }
+
     @JsonCreator
     public UserProfileCommand(@JsonProperty("userId") UserId userId,
                               @JsonProperty("type") CommandType type,
-                              @JsonProperty("properties") Map<String, Object> properties) {
+                              @JsonProperty("properties") Map<String, Object> properties,
+                              @JsonProperty("commandId") String commandId) {
         this.userId = userId;
         this.type = type;
         this.properties = properties;
+        this.commandId = commandId;
     }
 
     // Getters and setters
@@ -48,6 +59,16 @@ public class UserProfileCommand {
     public Map<String, Object> getProperties() { return properties; }
     public void setProperties(Map<String, Object> properties) { this.properties = properties; }
 
+    /**
+     * Optional idempotency key chosen by the sender. A command is skipped when one with the same id was recently applied to the same
+     * user, so a retried request doesn't apply it twice.
+     */
+    @JsonProperty("commandId")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Size(max = MAX_COMMAND_ID_LENGTH)
+    public String getCommandId() { return commandId; }
+    public void setCommandId(String commandId) { this.commandId = commandId; }
+
     public enum CommandType {
         REPLACE,
         INCREMENT,
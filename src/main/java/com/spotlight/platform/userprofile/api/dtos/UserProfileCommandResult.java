@@ -0,0 +1,39 @@
+package com.spotlight.platform.userprofile.api.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserProfileCommandResult(@JsonProperty Status status, @JsonProperty String error) {
+    private static final UserProfileCommandResult APPLIED = new UserProfileCommandResult(Status.APPLIED, null);
+    private static final UserProfileCommandResult DUPLICATE = new UserProfileCommandResult(Status.DUPLICATE, null);
+
+    public static UserProfileCommandResult applied() {
+        return APPLIED;
+    }
+
+    /**
+     * The command carries the id of a recently applied command and was skipped.
+     */
+    public static UserProfileCommandResult duplicate() {
+        return DUPLICATE;
+    }
+
+    public static UserProfileCommandResult failed(String error) {
+        return new UserProfileCommandResult(Status.FAILED, error);
+    }
+
+    public boolean isApplied() {
+        return status == Status.APPLIED;
+    }
+
+    public boolean isFailed() {
+        return status == Status.FAILED;
+    }
+
+    public enum Status {
+        APPLIED,
+        DUPLICATE,
+        FAILED
+    }
+}
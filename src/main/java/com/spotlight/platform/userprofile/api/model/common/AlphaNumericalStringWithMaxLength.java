@@ -15,6 +15,27 @@ public class AlphaNumericalStringWithMaxLength extends WrappedString {
         super(value);
     }
 
+    /**
+     * Same rules as the bean validation constraints on {@link #getValue()}, checked with a plain character scan so that hot paths can
+     * validate without running the regex or allocating.
+     */
+    public static boolean isValidValue(String value) {
+        int length = value.length();
+        if (length < MIN_LENGTH || length > MAX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!isAlphaNumeric(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAlphaNumeric(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-';
+    }
+
     @Override
     @Length(min = MIN_LENGTH, max = MAX_LENGTH)
     @Pattern(regexp = PATTERN_ALPHA_NUMERIC_ONLY)
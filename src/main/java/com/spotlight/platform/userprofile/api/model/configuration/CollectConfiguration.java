@@ -0,0 +1,33 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.util.Map;
+
+/**
+ * Collect policies by property name; properties without one use the default policy.
+ */
+public class CollectConfiguration {
+    @Valid
+    @NotNull
+    @JsonProperty
+    private CollectPolicy defaultPolicy = CollectPolicy.APPEND;
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    private Map<String, CollectPolicy> properties = Map.of();
+
+    public CollectConfiguration() {}
+
+    public CollectConfiguration(CollectPolicy defaultPolicy, Map<String, CollectPolicy> properties) {
+        this.defaultPolicy = defaultPolicy;
+        this.properties = properties;
+    }
+
+    public CollectPolicy policyFor(String propertyName) {
+        return properties.getOrDefault(propertyName, defaultPolicy);
+    }
+}
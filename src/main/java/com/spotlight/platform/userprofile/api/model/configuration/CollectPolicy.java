@@ -0,0 +1,55 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * How the collect command stores the elements of a property.
+ */
+public class CollectPolicy {
+    public static final CollectPolicy APPEND = new CollectPolicy(Mode.APPEND, Integer.MAX_VALUE);
+
+    @NotNull
+    @JsonProperty
+    private final Mode mode;
+
+    @Min(1)
+    @JsonProperty
+    private final int maxLength;
+
+    @JsonCreator
+    public CollectPolicy(@JsonProperty("mode") Mode mode, @JsonProperty("maxLength") Integer maxLength) {
+        this.mode = mode;
+        this.maxLength = maxLength == null ? Integer.MAX_VALUE : maxLength;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "maxLength is required for BOUNDED and SET")
+    public boolean isMaxLengthSetWhenBounded() {
+        return mode == Mode.APPEND || mode == Mode.COUNT || maxLength != Integer.MAX_VALUE;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    public enum Mode {
+        /** Every element is appended, the list is unbounded. */
+        APPEND,
+        /** The latest {@code maxLength} elements are kept, the oldest are evicted first. */
+        BOUNDED,
+        /** Distinct elements in first-collected order, at most {@code maxLength} of them. */
+        SET,
+        /** Only the number of collected elements is kept. */
+        COUNT
+    }
+}
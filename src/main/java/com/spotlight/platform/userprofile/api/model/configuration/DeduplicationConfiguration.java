@@ -0,0 +1,35 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.TimeUnit;
+
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MaxDuration;
+import io.dropwizard.validation.MinDuration;
+
+/**
+ * Deduplication of commands by their {@code commandId}. The ids of applied commands are remembered for at least {@code window}, as long
+ * as no more than {@code maxCommandIds} arrive within it; zero ids disables deduplication.
+ */
+public class DeduplicationConfiguration {
+    @Min(0)
+    @JsonProperty
+    private int maxCommandIds = 100_000;
+
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.SECONDS)
+    @MaxDuration(value = 1, unit = TimeUnit.DAYS)
+    @JsonProperty
+    private Duration window = Duration.minutes(10);
+
+    public int getMaxCommandIds() {
+        return maxCommandIds;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+}
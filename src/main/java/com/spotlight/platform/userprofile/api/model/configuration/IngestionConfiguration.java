@@ -0,0 +1,41 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.TimeUnit;
+
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+
+/**
+ * Asynchronous command ingestion. Accepted commands wait in memory until one of the {@code workers} applies them; at most
+ * {@code queueCapacity} commands can wait, further requests are turned away with {@code retryAfter} as the suggested delay.
+ */
+public class IngestionConfiguration {
+    @Min(1)
+    @JsonProperty
+    private int workers = Runtime.getRuntime().availableProcessors();
+
+    @Min(1)
+    @JsonProperty
+    private int queueCapacity = 100_000;
+
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.SECONDS)
+    @JsonProperty
+    private Duration retryAfter = Duration.seconds(1);
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
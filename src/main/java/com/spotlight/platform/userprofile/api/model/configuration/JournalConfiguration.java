@@ -0,0 +1,63 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+import io.dropwizard.util.DataSize;
+import io.dropwizard.util.DataSizeUnit;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MaxDataSize;
+import io.dropwizard.validation.MinDataSize;
+import io.dropwizard.validation.MinDuration;
+
+/**
+ * Durable mode of the profile store. When enabled every applied command is appended to a write-ahead log in {@code directory} and the
+ * profiles are snapshotted every {@code snapshotInterval}. Commands are acknowledged only once the log is forced to disk, and concurrent
+ * commands share one force. A zero {@code fsyncInterval} forces as soon as a command waits; a positive one forces once per interval,
+ * so commands wait up to that long and more of them share each force.
+ */
+public class JournalConfiguration {
+    @JsonProperty
+    private boolean enabled = false;
+
+    @NotEmpty
+    @JsonProperty
+    private String directory = "journal";
+
+    @NotNull
+    @MinDataSize(value = 1, unit = DataSizeUnit.MEBIBYTES)
+    @MaxDataSize(value = 1, unit = DataSizeUnit.GIBIBYTES)
+    @JsonProperty
+    private DataSize segmentSize = DataSize.mebibytes(64);
+
+    @NotNull
+    @JsonProperty
+    private Duration fsyncInterval = Duration.milliseconds(10);
+
+    @NotNull
+    @MinDuration(value = 1)
+    @JsonProperty
+    private Duration snapshotInterval = Duration.minutes(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public DataSize getSegmentSize() {
+        return segmentSize;
+    }
+
+    public Duration getFsyncInterval() {
+        return fsyncInterval;
+    }
+
+    public Duration getSnapshotInterval() {
+        return snapshotInterval;
+    }
+}
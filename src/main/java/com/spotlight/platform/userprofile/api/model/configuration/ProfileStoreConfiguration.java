@@ -0,0 +1,58 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+import io.dropwizard.util.DataSize;
+import io.dropwizard.util.DataSizeUnit;
+import io.dropwizard.validation.MaxDataSize;
+import io.dropwizard.validation.MinDataSize;
+
+public class ProfileStoreConfiguration {
+    @NotNull
+    @JsonProperty
+    private Type type = Type.IN_MEMORY;
+
+    @NotNull
+    @MinDataSize(value = 1, unit = DataSizeUnit.MEBIBYTES)
+    @MaxDataSize(value = 1, unit = DataSizeUnit.GIBIBYTES)
+    @JsonProperty
+    private DataSize offHeapChunkSize = DataSize.mebibytes(64);
+
+    @Min(1)
+    @JsonProperty
+    private int shards = Runtime.getRuntime().availableProcessors();
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    private JournalConfiguration journal = new JournalConfiguration();
+
+    public Type getType() {
+        return type;
+    }
+
+    public DataSize getOffHeapChunkSize() {
+        return offHeapChunkSize;
+    }
+
+    public int getShards() {
+        return shards;
+    }
+
+    public JournalConfiguration getJournal() {
+        return journal;
+    }
+
+    public enum Type {
+        /** Profiles are kept as objects on the heap. */
+        IN_MEMORY,
+        /** Profiles are kept serialized in direct memory, only their index is on the heap. */
+        OFF_HEAP,
+        /** Profiles are kept as objects on the heap in {@code shards} shards, each changed by a writer thread of its own. */
+        SHARDED
+    }
+}
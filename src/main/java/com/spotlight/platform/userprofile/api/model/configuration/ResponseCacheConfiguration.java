@@ -0,0 +1,30 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.constraints.NotNull;
+
+import io.dropwizard.util.DataSize;
+import io.dropwizard.util.DataSizeUnit;
+import io.dropwizard.validation.MaxDataSize;
+
+/**
+ * Cache of the encoded profiles returned by {@code GET /users/{userId}/profile}. Entries are evicted once their bytes exceed
+ * {@code maxSize}; a zero size disables the cache.
+ */
+public class ResponseCacheConfiguration {
+    @NotNull
+    @MaxDataSize(value = 1, unit = DataSizeUnit.GIBIBYTES)
+    @JsonProperty
+    private DataSize maxSize = DataSize.mebibytes(32);
+
+    public ResponseCacheConfiguration() {}
+
+    public ResponseCacheConfiguration(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+}
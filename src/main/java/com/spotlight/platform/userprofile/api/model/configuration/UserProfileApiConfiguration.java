@@ -1,7 +1,64 @@
 package com.spotlight.platform.userprofile.api.model.configuration;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
 import io.dropwizard.Configuration;
 
 public class UserProfileApiConfiguration extends Configuration {
     public static final String APPLICATION_NAME = "User Profile API";
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    private ProfileStoreConfiguration profileStore = new ProfileStoreConfiguration();
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    private CollectConfiguration collect = new CollectConfiguration();
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    private ResponseCacheConfiguration responseCache = new ResponseCacheConfiguration();
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    private IngestionConfiguration ingestion = new IngestionConfiguration();
+
+    @Valid
+    @NotNull
+    @JsonProperty
+    private DeduplicationConfiguration deduplication = new DeduplicationConfiguration();
+
+    public ProfileStoreConfiguration getProfileStore() {
+        return profileStore;
+    }
+
+    public CollectConfiguration getCollect() {
+        return collect;
+    }
+
+    public ResponseCacheConfiguration getResponseCache() {
+        return responseCache;
+    }
+
+    public IngestionConfiguration getIngestion() {
+        return ingestion;
+    }
+
+    public DeduplicationConfiguration getDeduplication() {
+        return deduplication;
+    }
+
+    /**
+     * Whether requests and commands run on virtual threads, switched on with {@code server.type: virtual-threads}.
+     */
+    public boolean isVirtualThreads() {
+        return getServerFactory() instanceof VirtualThreadServerFactory;
+    }
 }
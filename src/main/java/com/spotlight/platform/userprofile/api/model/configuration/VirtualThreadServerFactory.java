@@ -0,0 +1,106 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.eclipse.jetty.util.thread.ThreadPool;
+import org.eclipse.jetty.util.thread.TryExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.dropwizard.server.DefaultServerFactory;
+
+/**
+ * The default Dropwizard server, with every task Jetty executes running on a virtual thread of its own. Selected with
+ * {@code server.type: virtual-threads}; it also makes the application run command processing on virtual threads.
+ *
+ * <p>Nothing is pooled, so {@code minThreads}, {@code maxThreads} and {@code maxQueuedRequests} do not apply and the number of
+ * requests in progress is not bounded by the server. A blocked virtual thread doesn't hold a carrier thread, so requests waiting on the
+ * journal or the command executor cost little more than their stack.
+ */
+@JsonTypeName("virtual-threads")
+public class VirtualThreadServerFactory extends DefaultServerFactory {
+
+    @Override
+    protected ThreadPool createThreadPool(MetricRegistry metricRegistry) {
+        return new VirtualThreadPool("dw-virtual", getShutdownGracePeriod().toMilliseconds());
+    }
+
+    /**
+     * A thread pool in name only: each task starts a new virtual thread. It never runs out of threads, so Jetty may always hand a task
+     * over instead of running it on the selector thread.
+     */
+    static class VirtualThreadPool extends AbstractLifeCycle implements ThreadPool, TryExecutor {
+        private final String name;
+        private final long stopTimeoutMillis;
+        private final AtomicInteger threads = new AtomicInteger();
+
+        private volatile ExecutorService executor;
+
+        VirtualThreadPool(String name, long stopTimeoutMillis) {
+            this.name = name;
+            this.stopTimeoutMillis = stopTimeoutMillis;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        protected void doStart() {
+            executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 0).factory());
+        }
+
+        @Override
+        protected void doStop() throws InterruptedException {
+            executor.shutdown();
+            if (!executor.awaitTermination(stopTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            executor.execute(() -> {
+                threads.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    threads.decrementAndGet();
+                }
+            });
+        }
+
+        @Override
+        public boolean tryExecute(Runnable task) {
+            execute(task);
+            return true;
+        }
+
+        @Override
+        public void join() throws InterruptedException {
+            while (!executor.awaitTermination(1, TimeUnit.DAYS)) {
+                // keep waiting until the pool is stopped
+            }
+        }
+
+        @Override
+        public int getThreads() {
+            return threads.get();
+        }
+
+        @Override
+        public int getIdleThreads() {
+            return 0;
+        }
+
+        @Override
+        public boolean isLowOnThreads() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.spotlight.platform.userprofile.api.model.profile;
+
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Immutable property map of a profile stored as two parallel arrays, keys sorted by their interned id. Lookups of interned names are a
+ * binary search over the ids; names without an id sort last and are scanned linearly.
+ *
+ * <p>Published profiles are never changed, so they can be read and serialized without locking. Writers change a profile through an
+ * {@link Editor}, which shares the arrays and values of its base map until they are written and copies only the values it touches.
+ */
+public final class CompactPropertyMap extends AbstractMap<UserProfilePropertyName, UserProfilePropertyValue> {
+    public static final CompactPropertyMap EMPTY = new CompactPropertyMap(new UserProfilePropertyName[0], new UserProfilePropertyValue[0]);
+
+    private final UserProfilePropertyName[] keys;
+    private final UserProfilePropertyValue[] values;
+
+    private CompactPropertyMap(UserProfilePropertyName[] keys, UserProfilePropertyValue[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    public static CompactPropertyMap copyOf(Map<UserProfilePropertyName, UserProfilePropertyValue> properties) {
+        if (properties instanceof CompactPropertyMap compactPropertyMap) {
+            return compactPropertyMap;
+        }
+        var keys = new UserProfilePropertyName[properties.size()];
+        int index = 0;
+        for (UserProfilePropertyName key : properties.keySet()) {
+            keys[index++] = canonical(key);
+        }
+        Arrays.sort(keys, CompactPropertyMap::compareKeys);
+        var values = new UserProfilePropertyValue[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = properties.get(keys[i]);
+        }
+        return new CompactPropertyMap(keys, values);
+    }
+
+    /**
+     * Starts a change of the given properties, which are left untouched.
+     */
+    public static Editor edit(Map<UserProfilePropertyName, UserProfilePropertyValue> properties) {
+        return new Editor(copyOf(properties));
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof UserProfilePropertyName name && indexOf(keys, name) >= 0;
+    }
+
+    @Override
+    public UserProfilePropertyValue get(Object key) {
+        if (!(key instanceof UserProfilePropertyName name)) {
+            return null;
+        }
+        int index = indexOf(keys, name);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override
+    public Set<Entry<UserProfilePropertyName, UserProfilePropertyValue>> entrySet() {
+        return entrySet(keys, i -> values[i]);
+    }
+
+    /**
+     * Mutable working copy of a {@link CompactPropertyMap}. A value is copied the first time it is read or replaced, so commands can
+     * update counters and collections in place without touching the published profile. {@link #build()} publishes the result; the
+     * editor can be used further, every following change copies again.
+     */
+    public static final class Editor extends AbstractMap<UserProfilePropertyName, UserProfilePropertyValue> {
+        private UserProfilePropertyName[] keys;
+        private UserProfilePropertyValue[] values;
+        private boolean[] owned;
+        private boolean shared = true;
+
+        private Editor(CompactPropertyMap base) {
+            this.keys = base.keys;
+            this.values = base.values;
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof UserProfilePropertyName name && indexOf(keys, name) >= 0;
+        }
+
+        @Override
+        public UserProfilePropertyValue get(Object key) {
+            if (!(key instanceof UserProfilePropertyName name)) {
+                return null;
+            }
+            int index = indexOf(keys, name);
+            return index >= 0 ? ownedValue(index) : null;
+        }
+
+        @Override
+        public UserProfilePropertyValue put(UserProfilePropertyName key, UserProfilePropertyValue value) {
+            int index = indexOf(keys, key);
+            if (index >= 0) {
+                UserProfilePropertyValue previous = values[index];
+                unshare();
+                values[index] = value;
+                owned[index] = true;
+                return previous;
+            }
+            int insertAt = -index - 1;
+            int size = keys.length;
+            var grownKeys = new UserProfilePropertyName[size + 1];
+            var grownValues = new UserProfilePropertyValue[size + 1];
+            var grownOwned = new boolean[size + 1];
+            System.arraycopy(keys, 0, grownKeys, 0, insertAt);
+            System.arraycopy(values, 0, grownValues, 0, insertAt);
+            System.arraycopy(keys, insertAt, grownKeys, insertAt + 1, size - insertAt);
+            System.arraycopy(values, insertAt, grownValues, insertAt + 1, size - insertAt);
+            if (!shared) {
+                System.arraycopy(owned, 0, grownOwned, 0, insertAt);
+                System.arraycopy(owned, insertAt, grownOwned, insertAt + 1, size - insertAt);
+            }
+            grownKeys[insertAt] = canonical(key);
+            grownValues[insertAt] = value;
+            grownOwned[insertAt] = true;
+            keys = grownKeys;
+            values = grownValues;
+            owned = grownOwned;
+            shared = false;
+            return null;
+        }
+
+        @Override
+        public UserProfilePropertyValue remove(Object key) {
+            if (!(key instanceof UserProfilePropertyName name)) {
+                return null;
+            }
+            int index = indexOf(keys, name);
+            if (index < 0) {
+                return null;
+            }
+            UserProfilePropertyValue previous = values[index];
+            int size = keys.length;
+            var shrunkKeys = new UserProfilePropertyName[size - 1];
+            var shrunkValues = new UserProfilePropertyValue[size - 1];
+            var shrunkOwned = new boolean[size - 1];
+            System.arraycopy(keys, 0, shrunkKeys, 0, index);
+            System.arraycopy(values, 0, shrunkValues, 0, index);
+            System.arraycopy(keys, index + 1, shrunkKeys, index, size - index - 1);
+            System.arraycopy(values, index + 1, shrunkValues, index, size - index - 1);
+            if (!shared) {
+                System.arraycopy(owned, 0, shrunkOwned, 0, index);
+                System.arraycopy(owned, index + 1, shrunkOwned, index, size - index - 1);
+            }
+            keys = shrunkKeys;
+            values = shrunkValues;
+            owned = shrunkOwned;
+            shared = false;
+            return previous;
+        }
+
+        @Override
+        public void clear() {
+            keys = EMPTY.keys;
+            values = EMPTY.values;
+            shared = true;
+        }
+
+        @Override
+        public Set<Entry<UserProfilePropertyName, UserProfilePropertyValue>> entrySet() {
+            return CompactPropertyMap.entrySet(keys, this::ownedValue);
+        }
+
+        /**
+         * Returns the edited properties as an immutable map. Values that were not touched are shared with the base map.
+         */
+        public CompactPropertyMap build() {
+            shared = true;
+            return new CompactPropertyMap(keys, values);
+        }
+
+        private UserProfilePropertyValue ownedValue(int index) {
+            unshare();
+            if (!owned[index] && values[index] != null) {
+                values[index] = values[index].mutableCopy();
+                owned[index] = true;
+            }
+            return values[index];
+        }
+
+        private void unshare() {
+            if (shared) {
+                values = values.clone();
+                owned = new boolean[values.length];
+                shared = false;
+            }
+        }
+    }
+
+    private static Set<Entry<UserProfilePropertyName, UserProfilePropertyValue>> entrySet(UserProfilePropertyName[] keys,
+                                                                                           IntFunction<UserProfilePropertyValue> values) {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<UserProfilePropertyName, UserProfilePropertyValue>> iterator() {
+                return new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < keys.length;
+                    }
+
+                    @Override
+                    public Entry<UserProfilePropertyName, UserProfilePropertyValue> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int index = next++;
+                        return new SimpleImmutableEntry<>(keys[index], values.apply(index));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+
+    /**
+     * Returns the index of the key, or {@code -(insertion point) - 1} if it is missing.
+     */
+    private static int indexOf(UserProfilePropertyName[] keys, UserProfilePropertyName name) {
+        UserProfilePropertyName key = canonical(name);
+        if (key.id() == UserProfilePropertyName.NO_ID) {
+            int index = keys.length;
+            while (index > 0 && keys[index - 1].id() == UserProfilePropertyName.NO_ID) {
+                if (keys[--index].equals(key)) {
+                    return index;
+                }
+            }
+            return -keys.length - 1;
+        }
+        int low = 0;
+        int high = keys.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int id = sortId(keys[middle]);
+            if (id < key.id()) {
+                low = middle + 1;
+            } else if (id > key.id()) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -low - 1;
+    }
+
+    /**
+     * Swaps a name that was not created through {@link UserProfilePropertyName#valueOf(String)} for the interned instance, so that
+     * equal names always sort to the same place.
+     */
+    private static UserProfilePropertyName canonical(UserProfilePropertyName name) {
+        return name.id() == UserProfilePropertyName.NO_ID ? UserProfilePropertyName.valueOf(name.toString()) : name;
+    }
+
+    private static int compareKeys(UserProfilePropertyName first, UserProfilePropertyName second) {
+        return Integer.compare(sortId(first), sortId(second));
+    }
+
+    private static int sortId(UserProfilePropertyName name) {
+        return name.id() == UserProfilePropertyName.NO_ID ? Integer.MAX_VALUE : name.id();
+    }
+}
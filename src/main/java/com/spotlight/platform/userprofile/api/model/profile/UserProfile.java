@@ -1,6 +1,8 @@
 package com.spotlight.platform.userprofile.api.model.profile;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
 import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
@@ -9,6 +11,26 @@ import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfi
 import java.time.Instant;
 import java.util.Map;
 
+/**
+ * The version counts the commands applied to the profile. It is internal bookkeeping and not part of the JSON representation.
+ *
+ * <p>A profile stored in the DAO is never changed; commands edit a copy of its properties and store a new version.
+ */
 public record UserProfile(@JsonProperty UserId userId, @JsonProperty @JsonFormat(shape = JsonFormat.Shape.STRING) Instant latestUpdateTime,
-                          @JsonProperty Map<UserProfilePropertyName, UserProfilePropertyValue> userProfileProperties) {
-}
\ No newline at end of file
+                          @JsonProperty Map<UserProfilePropertyName, UserProfilePropertyValue> userProfileProperties,
+                          @JsonIgnore long version) {
+
+    @JsonCreator
+    public UserProfile(@JsonProperty("userId") UserId userId, @JsonProperty("latestUpdateTime") Instant latestUpdateTime,
+                       @JsonProperty("userProfileProperties") Map<UserProfilePropertyName, UserProfilePropertyValue> userProfileProperties) {
+        this(userId, latestUpdateTime, userProfileProperties, 0);
+    }
+
+    public UserProfile nextVersion(Instant updateTime) {
+        return nextVersion(updateTime, userProfileProperties);
+    }
+
+    public UserProfile nextVersion(Instant updateTime, Map<UserProfilePropertyName, UserProfilePropertyValue> updatedProperties) {
+        return new UserProfile(userId, updateTime, updatedProperties, version + 1);
+    }
+}
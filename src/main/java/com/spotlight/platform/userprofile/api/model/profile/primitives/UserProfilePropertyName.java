@@ -4,14 +4,32 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.spotlight.platform.userprofile.api.model.common.AlphaNumericalStringWithMaxLength;
 
 public class UserProfilePropertyName extends AlphaNumericalStringWithMaxLength implements Comparable<UserProfilePropertyName> {
+    public static final int NO_ID = -1;
+
+    private final int id;
 
-    @JsonCreator
     protected UserProfilePropertyName(String value) {
+        this(value, NO_ID);
+    }
+
+    UserProfilePropertyName(String value, int id) {
         super(value);
+        this.id = id;
     }
 
+    /**
+     * Returns the canonical instance from {@link UserProfilePropertyNames} when the name is interned.
+     */
+    @JsonCreator
     public static UserProfilePropertyName valueOf(String value) {
-        return new UserProfilePropertyName(value);
+        return UserProfilePropertyNames.intern(value);
+    }
+
+    /**
+     * Dense id of an interned name, {@link #NO_ID} otherwise.
+     */
+    public int id() {
+        return id;
     }
 
     @Override
@@ -21,6 +39,12 @@ public class UserProfilePropertyName extends AlphaNumericalStringWithMaxLength i
 
     @Override
     public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof UserProfilePropertyName other && id != NO_ID && other.id != NO_ID) {
+            return false;
+        }
         return super.equals(obj);
     }
 
@@ -29,4 +53,3 @@ public class UserProfilePropertyName extends AlphaNumericalStringWithMaxLength i
         return super.hashCode();
     }
 }
-
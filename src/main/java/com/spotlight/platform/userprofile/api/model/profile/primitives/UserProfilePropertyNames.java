@@ -0,0 +1,74 @@
+package com.spotlight.platform.userprofile.api.model.profile.primitives;
+
+import com.spotlight.platform.userprofile.api.model.common.AlphaNumericalStringWithMaxLength;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Intern table of property names. Valid names get one canonical instance with a dense id in {@code [0, CAPACITY)}, so that the few
+ * hundred names in use are shared by all profiles and can index arrays. Once the table is full, or for names that break the
+ * alphanumeric rules, {@link UserProfilePropertyName#valueOf(String)} falls back to a fresh instance without an id.
+ */
+public final class UserProfilePropertyNames {
+    public static final int CAPACITY = 1 << 14;
+
+    private static final ConcurrentMap<String, UserProfilePropertyName> NAMES = new ConcurrentHashMap<>();
+    private static final AtomicReferenceArray<UserProfilePropertyName> NAMES_BY_ID = new AtomicReferenceArray<>(CAPACITY);
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private UserProfilePropertyNames() {}
+
+    /**
+     * Returns the interned name with the given id, or {@code null} if no name has it.
+     */
+    public static UserProfilePropertyName byId(int id) {
+        return id >= 0 && id < CAPACITY ? NAMES_BY_ID.get(id) : null;
+    }
+
+    /**
+     * Returns the interned name with the given value without interning it, or {@code null} if there is none. Used to look up names
+     * taken from read requests, which must not fill the table.
+     */
+    public static UserProfilePropertyName lookup(String value) {
+        return NAMES.get(value);
+    }
+
+    /**
+     * Whether new names no longer get an id; until then every valid name stored in a profile is interned.
+     */
+    public static boolean isFull() {
+        return NEXT_ID.get() >= CAPACITY;
+    }
+
+    public static int size() {
+        return NAMES.size();
+    }
+
+    static UserProfilePropertyName intern(String value) {
+        if (value == null) {
+            return new UserProfilePropertyName(null);
+        }
+        UserProfilePropertyName name = NAMES.get(value);
+        if (name != null) {
+            return name;
+        }
+        if (NEXT_ID.get() >= CAPACITY || !AlphaNumericalStringWithMaxLength.isValidValue(value)) {
+            return new UserProfilePropertyName(value);
+        }
+        name = NAMES.computeIfAbsent(value, UserProfilePropertyNames::register);
+        return name != null ? name : new UserProfilePropertyName(value);
+    }
+
+    private static UserProfilePropertyName register(String value) {
+        int id = NEXT_ID.getAndIncrement();
+        if (id >= CAPACITY) {
+            return null;
+        }
+        var name = new UserProfilePropertyName(value, id);
+        NAMES_BY_ID.set(id, name);
+        return name;
+    }
+}
@@ -3,27 +3,66 @@ package com.spotlight.platform.userprofile.api.model.profile.primitives;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
 
-public class UserProfilePropertyValue {
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
-    private final Object value;
+/**
+ * Value of a profile property. {@link #valueOf(Object)} picks a variant by the type of the value: integral numbers become a
+ * {@link LongValue}, other numbers a {@link DoubleValue}, strings a {@link StringValue} and lists a {@link ListValue}. Counters and
+ * collections are updated in place by the commands, so repeated increments and collects don't allocate a new value each time; bounded
+ * and deduplicating collections are created by the collect command according to the property's policy.
+ */
+public abstract class UserProfilePropertyValue {
 
-    @JsonCreator
-    private UserProfilePropertyValue(Object value) {
-        this.value = value;
-    }
+    private UserProfilePropertyValue() {}
 
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
     public static UserProfilePropertyValue valueOf(Object value) {
-        return new UserProfilePropertyValue(value);
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return new LongValue(((Number) value).longValue());
+        }
+        if (value instanceof BigInteger bigInteger && bigInteger.bitLength() < Long.SIZE) {
+            return new LongValue(bigInteger.longValue());
+        }
+        if (value instanceof Number number && !(value instanceof BigInteger)) {
+            return new DoubleValue(number.doubleValue());
+        }
+        if (value instanceof String string) {
+            return new StringValue(string);
+        }
+        if (value instanceof List<?> list) {
+            return new ListValue(list);
+        }
+        return new ObjectValue(value);
+    }
+
+    public static BoundedListValue boundedList(int maxLength) {
+        return new BoundedListValue(maxLength);
+    }
+
+    public static SetValue set(int maxLength) {
+        return new SetValue(maxLength);
     }
 
     @JsonValue
-    public Object getValue() {
-        return value;
+    public abstract Object getValue();
+
+    /**
+     * Returns a value equal to this one that can be changed without affecting this one. Immutable variants return themselves.
+     */
+    public UserProfilePropertyValue mutableCopy() {
+        return this;
     }
 
     @Override
     public int hashCode() {
-        return value.hashCode();
+        return Objects.hashCode(getValue());
     }
 
     @Override
@@ -31,7 +70,246 @@ public class UserProfilePropertyValue {
         if (obj == null || this.getClass() != obj.getClass()) {
             return false;
         }
-        return value.equals(((UserProfilePropertyValue) obj).getValue());
+        return Objects.equals(getValue(), ((UserProfilePropertyValue) obj).getValue());
     }
-}
 
+    @Override
+    public String toString() {
+        return String.valueOf(getValue());
+    }
+
+    /**
+     * Exact 64-bit counter.
+     */
+    public static final class LongValue extends UserProfilePropertyValue {
+        private long value;
+
+        private LongValue(long value) {
+            this.value = value;
+        }
+
+        public long longValue() {
+            return value;
+        }
+
+        /**
+         * @throws ArithmeticException if the counter would overflow
+         */
+        public void add(long delta) {
+            value = Math.addExact(value, delta);
+        }
+
+        @Override
+        public LongValue mutableCopy() {
+            return new LongValue(value);
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+    }
+
+    public static final class DoubleValue extends UserProfilePropertyValue {
+        private double value;
+
+        private DoubleValue(double value) {
+            this.value = value;
+        }
+
+        public double doubleValue() {
+            return value;
+        }
+
+        public void add(double delta) {
+            value += delta;
+        }
+
+        @Override
+        public DoubleValue mutableCopy() {
+            return new DoubleValue(value);
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+    }
+
+    public static final class StringValue extends UserProfilePropertyValue {
+        private final String value;
+
+        private StringValue(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+    }
+
+    /**
+     * Collected elements. Subclasses decide what happens to an added element: appended, evicting the oldest, or deduplicated.
+     */
+    public abstract static sealed class CollectionValue extends UserProfilePropertyValue permits ListValue, BoundedListValue, SetValue {
+        private CollectionValue() {}
+
+        public abstract void addAll(Collection<?> elements);
+
+        /**
+         * The elements in collection order.
+         */
+        public abstract Collection<?> elements();
+
+        @Override
+        public Object getValue() {
+            return elements();
+        }
+    }
+
+    /**
+     * List that is owned by the profile; the given elements are copied so that collecting never writes into a list of the caller.
+     */
+    public static final class ListValue extends CollectionValue {
+        private final List<Object> value;
+
+        private ListValue(Collection<?> value) {
+            this.value = new ArrayList<>(value);
+        }
+
+        @Override
+        public void addAll(Collection<?> elements) {
+            value.addAll(elements);
+        }
+
+        @Override
+        public ListValue mutableCopy() {
+            return new ListValue(value);
+        }
+
+        @Override
+        public Collection<?> elements() {
+            return value;
+        }
+    }
+
+    /**
+     * Ring buffer keeping the latest {@code maxLength} elements; adding to a full buffer overwrites the oldest one. The buffer grows
+     * with the elements up to {@code maxLength}, so short lists stay small.
+     */
+    public static final class BoundedListValue extends CollectionValue {
+        private static final int INITIAL_CAPACITY = 8;
+
+        private final int maxLength;
+        private Object[] buffer;
+        private int head;
+        private int size;
+
+        private BoundedListValue(int maxLength) {
+            this.maxLength = maxLength;
+            this.buffer = new Object[Math.min(maxLength, INITIAL_CAPACITY)];
+        }
+
+        public int maxLength() {
+            return maxLength;
+        }
+
+        @Override
+        public void addAll(Collection<?> elements) {
+            for (Object element : elements) {
+                if (size == buffer.length && buffer.length < maxLength) {
+                    grow();
+                }
+                buffer[(head + size) % buffer.length] = element;
+                if (size < buffer.length) {
+                    size++;
+                } else {
+                    head = (head + 1) % buffer.length;
+                }
+            }
+        }
+
+        @Override
+        public Collection<?> elements() {
+            var elements = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                elements.add(buffer[(head + i) % buffer.length]);
+            }
+            return elements;
+        }
+
+        @Override
+        public BoundedListValue mutableCopy() {
+            var copy = new BoundedListValue(maxLength);
+            copy.buffer = buffer.clone();
+            copy.head = head;
+            copy.size = size;
+            return copy;
+        }
+
+        private void grow() {
+            var grown = new Object[(int) Math.min(maxLength, 2L * buffer.length)];
+            for (int i = 0; i < size; i++) {
+                grown[i] = buffer[(head + i) % buffer.length];
+            }
+            buffer = grown;
+            head = 0;
+        }
+    }
+
+    /**
+     * Distinct elements in first-collected order, at most {@code maxLength} of them; the oldest element is evicted first.
+     */
+    public static final class SetValue extends CollectionValue {
+        private final Set<Object> value = new LinkedHashSet<>();
+        private final int maxLength;
+
+        private SetValue(int maxLength) {
+            this.maxLength = maxLength;
+        }
+
+        public int maxLength() {
+            return maxLength;
+        }
+
+        @Override
+        public void addAll(Collection<?> elements) {
+            for (Object element : elements) {
+                if (value.add(element) && value.size() > maxLength) {
+                    Iterator<Object> oldest = value.iterator();
+                    oldest.next();
+                    oldest.remove();
+                }
+            }
+        }
+
+        @Override
+        public Collection<?> elements() {
+            return value;
+        }
+
+        @Override
+        public SetValue mutableCopy() {
+            var copy = new SetValue(maxLength);
+            copy.value.addAll(value);
+            return copy;
+        }
+    }
+
+    /**
+     * Any other JSON value, such as booleans, objects or {@code null}.
+     */
+    public static final class ObjectValue extends UserProfilePropertyValue {
+        private final Object value;
+
+        private ObjectValue(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+    }
+}
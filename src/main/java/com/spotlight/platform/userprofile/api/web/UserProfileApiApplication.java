@@ -1,12 +1,19 @@
 package com.spotlight.platform.userprofile.api.web;
 
+import com.fasterxml.jackson.jaxrs.cbor.JacksonCBORProvider;
+import com.fasterxml.jackson.jaxrs.smile.JacksonSmileProvider;
 import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.core.profile.ingestion.CommandIngestionQueue;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.journal.DurableProfileStore;
 import com.spotlight.platform.userprofile.api.model.configuration.UserProfileApiConfiguration;
 import com.spotlight.platform.userprofile.api.web.exceptionmappers.EntityNotFoundExceptionMapper;
+import com.spotlight.platform.userprofile.api.web.formats.ContentFormat;
 import com.spotlight.platform.userprofile.api.web.healthchecks.PreventStartupWarningHealthCheck;
 import com.spotlight.platform.userprofile.api.web.modules.UserProfileApiModule;
 
 import io.dropwizard.Application;
+import io.dropwizard.lifecycle.Managed;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
 import ru.vyarus.dropwizard.guice.GuiceBundle;
@@ -36,6 +43,9 @@ public class UserProfileApiApplication extends Application<UserProfileApiConfigu
     public void run(UserProfileApiConfiguration configuration, Environment environment) {
         registerHealthChecks(environment);
         registerExceptionMappers(environment);
+        registerContentFormats(environment);
+        registerProfileStore(configuration, environment);
+        registerCommandIngestion(environment);
     }
 
     public static void main(String[] args) throws Exception {
@@ -50,6 +60,26 @@ public class UserProfileApiApplication extends Application<UserProfileApiConfigu
         environment.jersey().register(getInstance(EntityNotFoundExceptionMapper.class));
     }
 
+    // JSON is handled by Dropwizard's own provider.
+    private void registerContentFormats(Environment environment) {
+        environment.jersey().register(new JacksonSmileProvider(ContentFormat.SMILE.objectMapper()));
+        environment.jersey().register(new JacksonCBORProvider(ContentFormat.CBOR.objectMapper()));
+    }
+
+    private void registerProfileStore(UserProfileApiConfiguration configuration, Environment environment) {
+        // Registered first so that it is stopped last, after everything that updates profiles.
+        if (getInstance(UserProfileDao.class) instanceof Managed managedDao) {
+            environment.lifecycle().manage(managedDao);
+        }
+        if (configuration.getProfileStore().getJournal().isEnabled()) {
+            environment.lifecycle().manage(getInstance(DurableProfileStore.class));
+        }
+    }
+
+    private void registerCommandIngestion(Environment environment) {
+        environment.lifecycle().manage(getInstance(CommandIngestionQueue.class));
+    }
+
     private <T> T getInstance(Class<T> clazz) {
         return guiceBundle.getInjector().getInstance(clazz);
     }
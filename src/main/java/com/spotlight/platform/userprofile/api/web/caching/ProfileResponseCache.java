@@ -0,0 +1,140 @@
+package com.spotlight.platform.userprofile.api.web.caching;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Encoded JSON of the latest requested version of each profile. Profiles are immutable and every command stores a new version, so
+ * bytes encoded for a version stay valid until the profile changes; an entry is only used for a profile with the same version and
+ * update time.
+ *
+ * <p>The cache is bounded by the total size of the cached bytes. Eviction is second chance: users are queued in the order they were
+ * first cached, a user that was hit since it was last looked at is queued again, the others are evicted.
+ */
+public class ProfileResponseCache {
+    private final ObjectMapper objectMapper;
+    private final long maxBytes;
+    private final ConcurrentMap<UserId, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<UserId> evictionQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicLong cachedBytes = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public ProfileResponseCache(ObjectMapper objectMapper, long maxBytes, MetricRegistry metrics) {
+        this.objectMapper = objectMapper;
+        this.maxBytes = maxBytes;
+        this.hits = metrics.counter(MetricRegistry.name(ProfileResponseCache.class, "hits"));
+        this.misses = metrics.counter(MetricRegistry.name(ProfileResponseCache.class, "misses"));
+        this.evictions = metrics.counter(MetricRegistry.name(ProfileResponseCache.class, "evictions"));
+        metrics.gauge(MetricRegistry.name(ProfileResponseCache.class, "bytes"), () -> cachedBytes::get);
+    }
+
+    /**
+     * Returns the JSON encoding of the profile, from the cache if this version of the profile was encoded before. The returned array
+     * is shared and must not be modified.
+     */
+    public byte[] encode(UserProfile userProfile) {
+        Entry cached = entries.get(userProfile.userId());
+        if (cached != null && cached.isFor(userProfile)) {
+            cached.referenced = true;
+            hits.inc();
+            return cached.bytes;
+        }
+        misses.inc();
+        byte[] bytes = serialize(userProfile);
+        if (bytes.length <= maxBytes) {
+            store(userProfile, bytes);
+            evict();
+        }
+        return bytes;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long cachedBytes() {
+        return cachedBytes.get();
+    }
+
+    private void store(UserProfile userProfile, byte[] bytes) {
+        var entry = new Entry(userProfile.version(), userProfile.latestUpdateTime(), bytes);
+        var replaced = new Entry[1];
+        Entry stored = entries.compute(userProfile.userId(), (userId, previous) -> {
+            if (previous != null && previous.version > entry.version) {
+                return previous;
+            }
+            replaced[0] = previous;
+            return entry;
+        });
+        if (stored != entry) {
+            return;
+        }
+        if (replaced[0] == null) {
+            cachedBytes.addAndGet(bytes.length);
+            evictionQueue.offer(userProfile.userId());
+        } else {
+            cachedBytes.addAndGet(bytes.length - replaced[0].bytes.length);
+        }
+    }
+
+    private void evict() {
+        while (cachedBytes.get() > maxBytes) {
+            UserId userId = evictionQueue.poll();
+            if (userId == null) {
+                return;
+            }
+            Entry entry = entries.get(userId);
+            if (entry == null) {
+                continue;
+            }
+            if (entry.referenced) {
+                entry.referenced = false;
+                evictionQueue.offer(userId);
+            } else if (entries.remove(userId, entry)) {
+                cachedBytes.addAndGet(-entry.bytes.length);
+                evictions.inc();
+            } else {
+                evictionQueue.offer(userId);
+            }
+        }
+    }
+
+    private byte[] serialize(UserProfile userProfile) {
+        try {
+            return objectMapper.writeValueAsBytes(userProfile);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class Entry {
+        private final long version;
+        private final Instant latestUpdateTime;
+        private final byte[] bytes;
+        private volatile boolean referenced;
+
+        private Entry(long version, Instant latestUpdateTime, byte[] bytes) {
+            this.version = version;
+            this.latestUpdateTime = latestUpdateTime;
+            this.bytes = bytes;
+        }
+
+        private boolean isFor(UserProfile userProfile) {
+            return version == userProfile.version() && latestUpdateTime.equals(userProfile.latestUpdateTime());
+        }
+    }
+}
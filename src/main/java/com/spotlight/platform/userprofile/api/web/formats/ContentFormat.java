@@ -0,0 +1,74 @@
+package com.spotlight.platform.userprofile.api.web.formats;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Variant;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Data formats of commands and profiles. Smile and CBOR are binary encodings of the JSON data model, read and written by mappers with
+ * the configuration of {@link JsonMapper}, so every format has the same shape.
+ */
+public enum ContentFormat {
+    JSON(MediaType.APPLICATION_JSON_TYPE, JsonMapper.getInstance()),
+    SMILE(MediaType.valueOf(ContentFormat.APPLICATION_SMILE), JsonMapper.createInstance(new SmileFactory())),
+    CBOR(MediaType.valueOf(ContentFormat.APPLICATION_CBOR), JsonMapper.createInstance(new CBORFactory()));
+
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+    public static final String APPLICATION_CBOR = "application/cbor";
+
+    private static final List<Variant> VARIANTS = Variant.mediaTypes(JSON.mediaType, SMILE.mediaType, CBOR.mediaType).build();
+
+    private final MediaType mediaType;
+    private final ObjectMapper objectMapper;
+
+    ContentFormat(MediaType mediaType, ObjectMapper objectMapper) {
+        this.mediaType = mediaType;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * The format of a request body with the given content type; JSON when the type is missing or not one of the formats.
+     */
+    public static ContentFormat of(MediaType contentType) {
+        if (contentType != null) {
+            for (ContentFormat format : values()) {
+                if (format.mediaType.isCompatible(contentType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * The format of the response preferred by the {@code Accept} header of the request, JSON if it accepts none of them.
+     */
+    public static ContentFormat select(Request request) {
+        Variant variant = request.selectVariant(VARIANTS);
+        return variant == null ? JSON : of(variant.getMediaType());
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    public ObjectMapper objectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * Creates a generator writing to a response body, which is left open for the container to close.
+     */
+    public JsonGenerator createGenerator(OutputStream output) throws IOException {
+        return objectMapper.getFactory().createGenerator(output).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+}
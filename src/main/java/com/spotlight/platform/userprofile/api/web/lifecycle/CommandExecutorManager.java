@@ -0,0 +1,34 @@
+package com.spotlight.platform.userprofile.api.web.lifecycle;
+
+import com.spotlight.platform.userprofile.api.core.profile.UserProfileService;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import io.dropwizard.lifecycle.Managed;
+
+public class CommandExecutorManager implements Managed {
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final ExecutorService commandExecutor;
+
+    @Inject
+    public CommandExecutorManager(@Named(UserProfileService.COMMAND_EXECUTOR) ExecutorService commandExecutor) {
+        this.commandExecutor = commandExecutor;
+    }
+
+    @Override
+    public void start() {
+        // the executor is created eagerly by Guice, nothing to start
+    }
+
+    @Override
+    public void stop() throws InterruptedException {
+        commandExecutor.shutdown();
+        if (!commandExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            commandExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.spotlight.platform.userprofile.api.web.modules;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+
+import com.spotlight.platform.userprofile.api.core.profile.CommandDeduplicator;
+import com.spotlight.platform.userprofile.api.model.configuration.DeduplicationConfiguration;
+
+import java.time.Duration;
+
+public class DeduplicationModule extends AbstractModule {
+    private final DeduplicationConfiguration deduplicationConfiguration;
+
+    public DeduplicationModule(DeduplicationConfiguration deduplicationConfiguration) {
+        this.deduplicationConfiguration = deduplicationConfiguration;
+    }
+
+    @Provides
+    @Singleton
+    public CommandDeduplicator getCommandDeduplicator() {
+        return new CommandDeduplicator(deduplicationConfiguration.getMaxCommandIds(),
+                Duration.ofMillis(deduplicationConfiguration.getWindow().toMilliseconds()));
+    }
+}
@@ -0,0 +1,39 @@
+package com.spotlight.platform.userprofile.api.web.modules;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+
+import com.spotlight.platform.userprofile.api.core.profile.UserProfileService;
+import com.spotlight.platform.userprofile.api.core.profile.ingestion.CommandIngestionQueue;
+import com.spotlight.platform.userprofile.api.model.configuration.IngestionConfiguration;
+
+import java.util.concurrent.ThreadFactory;
+
+public class IngestionModule extends AbstractModule {
+    private final IngestionConfiguration configuration;
+    private final boolean virtualThreads;
+    private final MetricRegistry metrics;
+
+    public IngestionModule(IngestionConfiguration configuration, boolean virtualThreads, MetricRegistry metrics) {
+        this.configuration = configuration;
+        this.virtualThreads = virtualThreads;
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected void configure() {
+        bind(IngestionConfiguration.class).toInstance(configuration);
+    }
+
+    @Provides
+    @Singleton
+    public CommandIngestionQueue getCommandIngestionQueue(UserProfileService userProfileService) {
+        ThreadFactory workerThreads = virtualThreads
+                ? Thread.ofVirtual().name("profile-ingestion-", 0).factory()
+                : Thread.ofPlatform().name("profile-ingestion-", 0).daemon().factory();
+        return new CommandIngestionQueue(userProfileService, configuration.getWorkers(), configuration.getQueueCapacity(), workerThreads,
+                metrics);
+    }
+}
@@ -0,0 +1,51 @@
+package com.spotlight.platform.userprofile.api.web.modules;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spotlight.platform.userprofile.api.core.profile.CommandJournal;
+import com.spotlight.platform.userprofile.api.core.profile.UserProfileService;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.journal.DurableProfileStore;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.journal.ProfileSnapshots;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.journal.WriteAheadLog;
+import com.spotlight.platform.userprofile.api.model.configuration.JournalConfiguration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+public class JournalModule extends AbstractModule {
+    private final JournalConfiguration configuration;
+
+    public JournalModule(JournalConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    protected void configure() {
+        bind(CommandJournal.class).to(WriteAheadLog.class);
+    }
+
+    @Provides
+    @Singleton
+    public WriteAheadLog getWriteAheadLog(ObjectMapper objectMapper) {
+        return new WriteAheadLog(Path.of(configuration.getDirectory()), (int) configuration.getSegmentSize().toBytes(),
+                Duration.ofMillis(configuration.getFsyncInterval().toMilliseconds()), objectMapper);
+    }
+
+    @Provides
+    @Singleton
+    public ProfileSnapshots getProfileSnapshots(ObjectMapper objectMapper) {
+        return new ProfileSnapshots(Path.of(configuration.getDirectory()), objectMapper);
+    }
+
+    @Provides
+    @Singleton
+    public DurableProfileStore getDurableProfileStore(UserProfileDao userProfileDao, UserProfileService userProfileService,
+                                                      WriteAheadLog writeAheadLog, ProfileSnapshots profileSnapshots) {
+        return new DurableProfileStore(userProfileDao, userProfileService, writeAheadLog, profileSnapshots,
+                Duration.ofMillis(configuration.getSnapshotInterval().toMilliseconds()));
+    }
+}
@@ -1,17 +1,101 @@
 package com.spotlight.platform.userprofile.api.web.modules;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.google.inject.multibindings.Multibinder;
+import com.google.inject.name.Names;
 
+import com.spotlight.platform.userprofile.api.core.profile.CommandJournal;
 import com.spotlight.platform.userprofile.api.core.profile.UserProfileService;
+import com.spotlight.platform.userprofile.api.core.profile.commands.CollectCommandHandler;
+import com.spotlight.platform.userprofile.api.core.profile.commands.CommandHandler;
+import com.spotlight.platform.userprofile.api.core.profile.commands.CommandHandlerRegistry;
+import com.spotlight.platform.userprofile.api.core.profile.commands.IncrementCommandHandler;
+import com.spotlight.platform.userprofile.api.core.profile.commands.ReplaceCommandHandler;
 import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
 import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDaoInMemory;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDaoOffHeap;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDaoSharded;
+import com.spotlight.platform.userprofile.api.model.configuration.CollectConfiguration;
+import com.spotlight.platform.userprofile.api.model.configuration.ProfileStoreConfiguration;
 
+import javax.inject.Named;
 import javax.inject.Singleton;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ProfileModule extends AbstractModule {
+    private static final int COMMAND_QUEUE_CAPACITY = 1024;
+
+    private final ProfileStoreConfiguration profileStoreConfiguration;
+    private final CollectConfiguration collectConfiguration;
+    private final boolean virtualThreads;
+
+    public ProfileModule(ProfileStoreConfiguration profileStoreConfiguration, CollectConfiguration collectConfiguration,
+                         boolean virtualThreads) {
+        this.profileStoreConfiguration = profileStoreConfiguration;
+        this.collectConfiguration = collectConfiguration;
+        this.virtualThreads = virtualThreads;
+    }
+
     @Override
     protected void configure() {
-        bind(UserProfileDao.class).to(UserProfileDaoInMemory.class).in(Singleton.class);
+        configureDao();
         bind(UserProfileService.class).in(Singleton.class);
+        configureCommandHandlers();
+        configureJournal();
+    }
+
+    private void configureDao() {
+        switch (profileStoreConfiguration.getType()) {
+            case OFF_HEAP -> {
+                bindConstant().annotatedWith(Names.named(UserProfileDaoOffHeap.CHUNK_SIZE))
+                        .to((int) profileStoreConfiguration.getOffHeapChunkSize().toBytes());
+                bind(UserProfileDao.class).to(UserProfileDaoOffHeap.class).in(Singleton.class);
+            }
+            case SHARDED -> {
+                bindConstant().annotatedWith(Names.named(UserProfileDaoSharded.SHARDS)).to(profileStoreConfiguration.getShards());
+                bind(UserProfileDao.class).to(UserProfileDaoSharded.class).in(Singleton.class);
+            }
+            case IN_MEMORY -> bind(UserProfileDao.class).to(UserProfileDaoInMemory.class).in(Singleton.class);
+        }
+    }
+
+    private void configureJournal() {
+        if (profileStoreConfiguration.getJournal().isEnabled()) {
+            install(new JournalModule(profileStoreConfiguration.getJournal()));
+        } else {
+            bind(CommandJournal.class).toInstance(CommandJournal.NONE);
+        }
+    }
+
+    private void configureCommandHandlers() {
+        bind(CollectConfiguration.class).toInstance(collectConfiguration);
+        var commandHandlers = Multibinder.newSetBinder(binder(), CommandHandler.class);
+        commandHandlers.addBinding().to(ReplaceCommandHandler.class);
+        commandHandlers.addBinding().to(IncrementCommandHandler.class);
+        commandHandlers.addBinding().to(CollectCommandHandler.class);
+        bind(CommandHandlerRegistry.class).in(Singleton.class);
+    }
+
+    @Provides
+    @Singleton
+    @Named(UserProfileService.COMMAND_EXECUTOR)
+    public ExecutorService getCommandExecutor() {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("profile-commands-", 1).factory());
+        }
+        int threads = Runtime.getRuntime().availableProcessors();
+        var threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(COMMAND_QUEUE_CAPACITY),
+                runnable -> {
+                    var thread = new Thread(runnable, "profile-commands-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
     }
 }
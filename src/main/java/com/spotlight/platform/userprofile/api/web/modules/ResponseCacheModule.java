@@ -0,0 +1,26 @@
+package com.spotlight.platform.userprofile.api.web.modules;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spotlight.platform.userprofile.api.model.configuration.ResponseCacheConfiguration;
+import com.spotlight.platform.userprofile.api.web.caching.ProfileResponseCache;
+
+public class ResponseCacheModule extends AbstractModule {
+    private final ResponseCacheConfiguration responseCacheConfiguration;
+    private final MetricRegistry metrics;
+
+    public ResponseCacheModule(ResponseCacheConfiguration responseCacheConfiguration, MetricRegistry metrics) {
+        this.responseCacheConfiguration = responseCacheConfiguration;
+        this.metrics = metrics;
+    }
+
+    @Provides
+    @Singleton
+    public ProfileResponseCache getProfileResponseCache(ObjectMapper objectMapper) {
+        return new ProfileResponseCache(objectMapper, responseCacheConfiguration.getMaxSize().toBytes(), metrics);
+    }
+}
@@ -1,12 +1,18 @@
 package com.spotlight.platform.userprofile.api.web.modules;
 
-import com.google.inject.Binder;
-import com.google.inject.Module;
+import com.spotlight.platform.userprofile.api.model.configuration.UserProfileApiConfiguration;
 
-public class UserProfileApiModule implements Module {
+import ru.vyarus.dropwizard.guice.module.support.DropwizardAwareModule;
+
+public class UserProfileApiModule extends DropwizardAwareModule<UserProfileApiConfiguration> {
     @Override
-    public void configure(Binder binder) {
-        binder.install(new JsonModule());
-        binder.install(new ProfileModule());
+    protected void configure() {
+        install(new JsonModule());
+        install(new ProfileModule(configuration().getProfileStore(), configuration().getCollect(),
+                configuration().isVirtualThreads()));
+        install(new DeduplicationModule(configuration().getDeduplication()));
+        install(new ResponseCacheModule(configuration().getResponseCache(), environment().metrics()));
+        install(new IngestionModule(configuration().getIngestion(), configuration().isVirtualThreads(), environment().metrics()));
+        install(new ValidationModule());
     }
 }
@@ -0,0 +1,201 @@
+package com.spotlight.platform.userprofile.api.web.resources;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.spotlight.platform.userprofile.api.core.profile.UserProfileService;
+import com.spotlight.platform.userprofile.api.core.profile.ingestion.CommandIngestionQueue;
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommandResult;
+import com.spotlight.platform.userprofile.api.model.configuration.IngestionConfiguration;
+import com.spotlight.platform.userprofile.api.web.formats.ContentFormat;
+import com.spotlight.platform.userprofile.api.web.streaming.CommandArrayReader;
+import com.spotlight.platform.userprofile.api.web.streaming.CommandArrayReader.ParsedCommand;
+import com.spotlight.platform.userprofile.api.web.streaming.CommandLineReader;
+import com.spotlight.platform.userprofile.api.web.validation.UserProfileCommandValidation;
+
+import javax.inject.Inject;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Ingest of batches that mix commands of many users, such as a micro-batch of a stream processor. Batches and results can be JSON,
+ * Smile or CBOR, chosen by the {@code Content-Type} and {@code Accept} headers. Long-running streams of commands can be sent as
+ * newline delimited JSON instead.
+ */
+@Path("/commands")
+@Consumes({MediaType.APPLICATION_JSON, ContentFormat.APPLICATION_SMILE, ContentFormat.APPLICATION_CBOR})
+@Produces({MediaType.APPLICATION_JSON, ContentFormat.APPLICATION_SMILE, ContentFormat.APPLICATION_CBOR})
+public class CommandsResource {
+    static final int MAX_COMMANDS_PER_REQUEST = 100_000;
+    static final int MAX_COMMANDS_PER_CHUNK = 1_000;
+
+    private final UserProfileService userProfileService;
+    private final CommandIngestionQueue ingestionQueue;
+    private final UserProfileCommandValidation commandValidation;
+    private final String retryAfterSeconds;
+
+    @Inject
+    public CommandsResource(UserProfileService userProfileService, CommandIngestionQueue ingestionQueue,
+                            UserProfileCommandValidation commandValidation, IngestionConfiguration ingestionConfiguration) {
+        this.userProfileService = userProfileService;
+        this.ingestionQueue = ingestionQueue;
+        this.commandValidation = commandValidation;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, ingestionConfiguration.getRetryAfter().toSeconds()));
+    }
+
+    /**
+     * Applies an array of commands and answers with one result per command, in request order. Commands of the same user are
+     * applied in request order, different users in parallel. A command that can't be read or is invalid fails on its own; malformed
+     * input rejects the whole batch with 400 before anything is applied.
+     */
+    @POST
+    public Response processCommands(InputStream commands, @Context HttpHeaders headers) throws IOException {
+        ParsedBatch batch;
+        try {
+            batch = read(commands, ContentFormat.of(headers.getMediaType()));
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
+
+        Iterator<UserProfileCommandResult> appliedResults = userProfileService.processCommands(batch.validCommands()).iterator();
+        List<UserProfileCommandResult> results = batch.results();
+        results.replaceAll(result -> result == null ? appliedResults.next() : result);
+        return Response.ok(results).build();
+    }
+
+    /**
+     * Applies newline delimited commands as they arrive and streams back one result line per command line, in request order. Each line
+     * is read and validated on its own, so a malformed line fails alone. The lines that have arrived are applied together, up to
+     * {@value #MAX_COMMANDS_PER_CHUNK} at a time, and their results are flushed before waiting for more, so memory stays bounded
+     * however long the stream is.
+     */
+    @POST
+    @Consumes(ProfilesResource.APPLICATION_NDJSON)
+    @Produces(ProfilesResource.APPLICATION_NDJSON)
+    public StreamingOutput streamCommands(InputStream commands) {
+        return output -> {
+            try (var commandReader = new CommandLineReader(ContentFormat.JSON.objectMapper(), commands);
+                 var generator = ContentFormat.JSON.createGenerator(output)) {
+                generator.setRootValueSeparator(null);
+                List<UserProfileCommandResult> results = new ArrayList<>();
+                List<UserProfileCommand> validCommands = new ArrayList<>();
+                for (var parsedCommand = commandReader.next(); parsedCommand != null; parsedCommand = commandReader.next()) {
+                    Optional<String> violations = violations(parsedCommand);
+                    if (violations.isPresent()) {
+                        results.add(UserProfileCommandResult.failed(violations.get()));
+                    } else {
+                        results.add(null);
+                        validCommands.add(parsedCommand.command());
+                    }
+                    if (results.size() == MAX_COMMANDS_PER_CHUNK || !commandReader.hasBufferedInput()) {
+                        applyChunk(generator, results, validCommands);
+                    }
+                }
+                applyChunk(generator, results, validCommands);
+            }
+        };
+    }
+
+    /**
+     * Accepts an array of commands for background processing and answers with 202 once they are queued. The batch is accepted
+     * only if every command is valid. When the queue has no room for the batch, nothing is queued and the answer is 503 with a
+     * {@code Retry-After} header.
+     */
+    @POST
+    @Path("async")
+    public Response acceptCommands(InputStream commands, @Context HttpHeaders headers) throws IOException {
+        ParsedBatch batch;
+        try {
+            batch = read(commands, ContentFormat.of(headers.getMediaType()));
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
+
+        StringBuilder errorMessages = new StringBuilder();
+        for (int index = 0; index < batch.results().size(); index++) {
+            UserProfileCommandResult result = batch.results().get(index);
+            if (result != null) {
+                errorMessages.append("Command ").append(index).append(": ").append(result.error()).append("; ");
+            }
+        }
+        if (errorMessages.length() > 0) {
+            return badRequest(errorMessages.toString());
+        }
+        if (batch.validCommands().size() > ingestionQueue.capacity()) {
+            return badRequest("More than " + ingestionQueue.capacity() + " commands");
+        }
+        if (!ingestionQueue.offer(batch.validCommands())) {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, retryAfterSeconds).build();
+        }
+        return Response.accepted().build();
+    }
+
+    /**
+     * Reads and validates the commands. The results hold a failure for every command that can't be applied and {@code null} for the
+     * valid ones, which are collected in request order.
+     *
+     * @throws IllegalArgumentException if the input is malformed or has too many commands
+     */
+    private ParsedBatch read(InputStream commands, ContentFormat format) throws IOException {
+        List<UserProfileCommandResult> results = new ArrayList<>();
+        List<UserProfileCommand> validCommands = new ArrayList<>();
+        try (var commandReader = new CommandArrayReader(format.objectMapper(), commands)) {
+            for (var parsedCommand = commandReader.next(); parsedCommand != null; parsedCommand = commandReader.next()) {
+                if (results.size() == MAX_COMMANDS_PER_REQUEST) {
+                    throw new IllegalArgumentException("More than " + MAX_COMMANDS_PER_REQUEST + " commands");
+                }
+                Optional<String> violations = violations(parsedCommand);
+                if (violations.isPresent()) {
+                    results.add(UserProfileCommandResult.failed(violations.get()));
+                } else {
+                    results.add(null);
+                    validCommands.add(parsedCommand.command());
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed commands: " + e.getOriginalMessage(), e);
+        }
+        return new ParsedBatch(results, validCommands);
+    }
+
+    private Optional<String> violations(ParsedCommand parsedCommand) {
+        return parsedCommand.isFailed() ? Optional.of(parsedCommand.error()) : commandValidation.validate(parsedCommand.command());
+    }
+
+    /**
+     * Applies the valid commands of a chunk, writes a result line for every command of it and empties the chunk.
+     */
+    private void applyChunk(JsonGenerator generator, List<UserProfileCommandResult> results, List<UserProfileCommand> validCommands)
+            throws IOException {
+        if (results.isEmpty()) {
+            return;
+        }
+        Iterator<UserProfileCommandResult> appliedResults = userProfileService.processCommands(validCommands).iterator();
+        for (UserProfileCommandResult result : results) {
+            generator.writeObject(result == null ? appliedResults.next() : result);
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        results.clear();
+        validCommands.clear();
+    }
+
+    private static Response badRequest(String message) {
+        return Response.status(Response.Status.BAD_REQUEST).entity(message).type(MediaType.TEXT_PLAIN_TYPE).build();
+    }
+
+    private record ParsedBatch(List<UserProfileCommandResult> results, List<UserProfileCommand> validCommands) {}
+}
@@ -0,0 +1,128 @@
+package com.spotlight.platform.userprofile.api.web.resources;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.spotlight.platform.userprofile.api.core.profile.UserProfileService;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.web.formats.ContentFormat;
+import com.spotlight.platform.userprofile.api.web.streaming.ProfileProjectionWriter;
+
+import javax.inject.Inject;
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads of several profiles in one request. The profiles are looked up while the response is written and returned in request order, a
+ * user without a profile is reported in place as {@code {"userId": ..., "error": "Profile not found"}}. With {@code fields}, a comma
+ * separated list of property names, only those properties are returned. The format of the response follows the {@code Accept} header,
+ * which responses name in {@code Vary}.
+ */
+@Path("/profiles")
+public class ProfilesResource {
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    static final int MAX_USERS_PER_GET = 1000;
+    static final int MAX_USERS_PER_POST = 10_000;
+    static final String PROFILE_NOT_FOUND = "Profile not found";
+
+    private final UserProfileService userProfileService;
+
+    @Inject
+    public ProfilesResource(UserProfileService userProfileService) {
+        this.userProfileService = userProfileService;
+    }
+
+    /**
+     * Bulk read of the users in the query as one array, in JSON, Smile or CBOR according to the {@code Accept} header.
+     */
+    @GET
+    @Produces({MediaType.APPLICATION_JSON, ContentFormat.APPLICATION_SMILE, ContentFormat.APPLICATION_CBOR})
+    public Response getUserProfiles(@QueryParam("userId") @NotEmpty @Size(max = MAX_USERS_PER_GET) List<@Valid UserId> userIds,
+                                    @QueryParam("fields") String fields, @Context Request request) {
+        return userProfiles(userIds, fields, ContentFormat.select(request), false);
+    }
+
+    /**
+     * Bulk read of the users in the request body, an array of user ids, as one array, in JSON, Smile or CBOR according to the
+     * {@code Accept} header.
+     */
+    @POST
+    @Consumes({MediaType.APPLICATION_JSON, ContentFormat.APPLICATION_SMILE, ContentFormat.APPLICATION_CBOR})
+    @Produces({MediaType.APPLICATION_JSON, ContentFormat.APPLICATION_SMILE, ContentFormat.APPLICATION_CBOR})
+    public Response postUserProfiles(@Valid @NotEmpty @Size(max = MAX_USERS_PER_POST) List<@Valid UserId> userIds,
+                                     @QueryParam("fields") String fields, @Context Request request) {
+        return userProfiles(userIds, fields, ContentFormat.select(request), false);
+    }
+
+    /**
+     * Bulk read of the users in the request body as newline delimited JSON, one profile per line.
+     */
+    @POST
+    @Consumes({MediaType.APPLICATION_JSON, ContentFormat.APPLICATION_SMILE, ContentFormat.APPLICATION_CBOR})
+    @Produces(APPLICATION_NDJSON + ";qs=0.9")
+    public Response postUserProfilesAsNdjson(@Valid @NotEmpty @Size(max = MAX_USERS_PER_POST) List<@Valid UserId> userIds,
+                                             @QueryParam("fields") String fields) {
+        return userProfiles(userIds, fields, ContentFormat.JSON, true);
+    }
+
+    private Response userProfiles(List<UserId> userIds, String fields, ContentFormat format, boolean newlineDelimited) {
+        List<String> projection;
+        try {
+            projection = fields == null ? null : ProfileProjectionWriter.parseFields(fields);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
+        return Response.ok((StreamingOutput) output -> {
+            Iterator<Optional<UserProfile>> userProfiles = userProfileService.findAll(userIds).iterator();
+            try (var generator = format.createGenerator(output)) {
+                if (newlineDelimited) {
+                    generator.setRootValueSeparator(null);
+                } else {
+                    generator.writeStartArray();
+                }
+                for (UserId userId : userIds) {
+                    write(generator, userId, userProfiles.next(), projection);
+                    if (newlineDelimited) {
+                        generator.writeRaw('\n');
+                    }
+                }
+                if (!newlineDelimited) {
+                    generator.writeEndArray();
+                }
+            }
+        }, newlineDelimited ? MediaType.valueOf(APPLICATION_NDJSON) : format.mediaType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .build();
+    }
+
+    private static void write(JsonGenerator generator, UserId userId, Optional<UserProfile> userProfile, List<String> projection)
+            throws IOException {
+        if (userProfile.isEmpty()) {
+            generator.writeStartObject();
+            generator.writeObjectField("userId", userId);
+            generator.writeStringField("error", PROFILE_NOT_FOUND);
+            generator.writeEndObject();
+        } else if (projection == null) {
+            generator.writeObject(userProfile.get());
+        } else {
+            ProfileProjectionWriter.write(generator, userProfile.get(), projection);
+        }
+    }
+}
@@ -1,52 +1,103 @@
 package com.spotlight.platform.userprofile.api.web.resources;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.spotlight.platform.userprofile.api.core.profile.UserProfileService;
 import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommandResult;
 import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
 import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.web.caching.ProfileResponseCache;
+import com.spotlight.platform.userprofile.api.web.formats.ContentFormat;
+import com.spotlight.platform.userprofile.api.web.streaming.CommandArrayReader;
+import com.spotlight.platform.userprofile.api.web.streaming.ProfileProjectionWriter;
+import com.spotlight.platform.userprofile.api.web.validation.UserProfileCommandValidation;
 
 import javax.inject.Inject;
 import javax.validation.*;
 import javax.ws.rs.*;
 import javax.ws.rs.Path;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Optional;
 
 @Path("/users/{userId}/profile")
-@Consumes(MediaType.APPLICATION_JSON)
-@Produces(MediaType.APPLICATION_JSON)
+@Consumes({MediaType.APPLICATION_JSON, ContentFormat.APPLICATION_SMILE, ContentFormat.APPLICATION_CBOR})
+@Produces({MediaType.APPLICATION_JSON, ContentFormat.APPLICATION_SMILE, ContentFormat.APPLICATION_CBOR})
 public class UserResource {
-
     private final UserProfileService userProfileService;
+    private final UserProfileCommandValidation commandValidation;
+    private final ProfileResponseCache responseCache;
 
     @Inject
-    public UserResource(UserProfileService userProfileService) {
+    public UserResource(UserProfileService userProfileService, UserProfileCommandValidation commandValidation,
+                        ProfileResponseCache responseCache) {
         this.userProfileService = userProfileService;
+        this.commandValidation = commandValidation;
+        this.responseCache = responseCache;
     }
 
+    /**
+     * Answers with 304 when {@code If-None-Match} names the current version of the profile, otherwise with the profile and its ETag.
+     * With {@code fields}, a comma separated list of property names, only those properties are returned. The profile is written as
+     * JSON, Smile or CBOR according to the {@code Accept} header, which is therefore named in {@code Vary}, and the ETag differs per
+     * format; only JSON is served from the response cache.
+     */
     @Path("/")
     @GET
-    public UserProfile getUserProfile(@Valid @PathParam("userId") UserId userId) {
-        return userProfileService.get(userId);
+    public Response getUserProfile(@Valid @PathParam("userId") UserId userId, @QueryParam("fields") String fields,
+                                   @Context Request request) {
+        List<String> projection;
+        try {
+            projection = fields == null ? null : ProfileProjectionWriter.parseFields(fields);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
+        ContentFormat format = ContentFormat.select(request);
+        UserProfile userProfile = userProfileService.get(userId);
+        EntityTag entityTag = entityTag(userProfile, format);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+        if (notModified != null) {
+            return notModified.header(HttpHeaders.VARY, HttpHeaders.ACCEPT).build();
+        }
+        if (projection != null || format != ContentFormat.JSON) {
+            return Response.ok((StreamingOutput) output -> {
+                try (var generator = format.createGenerator(output)) {
+                    if (projection == null) {
+                        generator.writeObject(userProfile);
+                    } else {
+                        ProfileProjectionWriter.write(generator, userProfile, projection);
+                    }
+                }
+            }, format.mediaType()).tag(entityTag).header(HttpHeaders.VARY, HttpHeaders.ACCEPT).build();
+        }
+        byte[] encodedProfile = responseCache.encode(userProfile);
+        return Response.ok((StreamingOutput) output -> output.write(encodedProfile), format.mediaType())
+                .tag(entityTag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .build();
     }
 
     @Path("command")
     @POST
-    @Consumes(MediaType.APPLICATION_JSON)
     public Response processCommands( UserProfileCommand command) {
-        ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
-        Validator validator = validatorFactory.getValidator();
-        Set<ConstraintViolation<UserProfileCommand>> violations = validator.validate(command);
+        Optional<String> violations = commandValidation.validate(command);
 
-        if (!violations.isEmpty()) {
-            String message = violations.stream()
-                    .map(ConstraintViolation::getMessage)
-                    .collect(Collectors.joining("; "));
+        if (violations.isPresent()) {
             return Response.status(Response.Status.BAD_REQUEST)
-                    .entity(message)
+                    .entity(violations.get())
                     .build();
         }
 
@@ -59,37 +110,78 @@ public class UserResource {
         }
     }
 
+    /**
+     * Applies an array of commands as it is read and streams back one result per command, in request order. The commands read so far
+     * are applied together, up to {@value CommandsResource#MAX_COMMANDS_PER_CHUNK} at a time, and their results are written before
+     * more is read, so memory stays bounded however large the batch is. A command that can't be read or is invalid fails on its own.
+     * A body that is not an array is rejected with 400; when the JSON breaks off later, the commands before it stay applied and the
+     * results end with a failure for the malformed rest.
+     */
     @Path("commands")
     @POST
-    @Consumes(MediaType.APPLICATION_JSON)
-    public Response processCommands(List<UserProfileCommand> commands) {
-        ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
-        Validator validator = validatorFactory.getValidator();
-        StringBuilder errorMessages = new StringBuilder();
+    public Response processCommands(InputStream commands, @Context HttpHeaders headers, @Context Request request) throws IOException {
+        ContentFormat format = ContentFormat.select(request);
+        CommandArrayReader commandReader;
+        try {
+            commandReader = new CommandArrayReader(ContentFormat.of(headers.getMediaType()).objectMapper(), commands);
+        } catch (JsonProcessingException e) {
+            return badRequest("Malformed commands: " + e.getOriginalMessage());
+        }
 
-        for (UserProfileCommand command : commands) {
-            Set<ConstraintViolation<UserProfileCommand>> violations = validator.validate(command);
-            if (!violations.isEmpty()) {
-                String message = violations.stream()
-                        .map(ConstraintViolation::getMessage)
-                        .collect(Collectors.joining("; "));
-                errorMessages.append(message).append("; ");
-            } else {
+        StreamingOutput results = output -> {
+            try (commandReader; var generator = format.createGenerator(output)) {
+                List<UserProfileCommandResult> chunkResults = new ArrayList<>();
+                List<UserProfileCommand> validCommands = new ArrayList<>();
+                generator.writeStartArray();
                 try {
-                    userProfileService.processCommands(command);
-                } catch (Exception e) {
-                    errorMessages.append("Error processing command: ").append(e.getMessage()).append("; ");
+                    for (var parsedCommand = commandReader.next(); parsedCommand != null; parsedCommand = commandReader.next()) {
+                        Optional<String> violations = parsedCommand.isFailed()
+                                ? Optional.of(parsedCommand.error())
+                                : commandValidation.validate(parsedCommand.command());
+                        if (violations.isPresent()) {
+                            chunkResults.add(UserProfileCommandResult.failed(violations.get()));
+                        } else {
+                            chunkResults.add(null);
+                            validCommands.add(parsedCommand.command());
+                        }
+                        if (chunkResults.size() == CommandsResource.MAX_COMMANDS_PER_CHUNK) {
+                            applyChunk(generator, chunkResults, validCommands);
+                        }
+                    }
+                } catch (JsonProcessingException e) {
+                    chunkResults.add(UserProfileCommandResult.failed("Malformed commands: " + e.getOriginalMessage()));
                 }
+                applyChunk(generator, chunkResults, validCommands);
+                generator.writeEndArray();
             }
-        }
+        };
+        return Response.ok(results, format.mediaType()).header(HttpHeaders.VARY, HttpHeaders.ACCEPT).build();
+    }
 
-        if (errorMessages.length() > 0) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                    .entity(errorMessages.toString())
-                    .build();
-        } else {
-            return Response.noContent().build();
+    /**
+     * Applies the valid commands of a chunk, writes the result of every command of it and empties the chunk.
+     */
+    private void applyChunk(JsonGenerator generator, List<UserProfileCommandResult> results, List<UserProfileCommand> validCommands)
+            throws IOException {
+        Iterator<UserProfileCommandResult> appliedResults = userProfileService.processCommands(validCommands).iterator();
+        for (UserProfileCommandResult result : results) {
+            generator.writeObject(result == null ? appliedResults.next() : result);
         }
+        generator.flush();
+        results.clear();
+        validCommands.clear();
+    }
+
+    private static Response badRequest(String message) {
+        return Response.status(Response.Status.BAD_REQUEST).entity(message).type(MediaType.TEXT_PLAIN_TYPE).build();
+    }
+
+    // Every format is a representation of its own, so the binary ones get a tag of their own.
+    private static EntityTag entityTag(UserProfile userProfile, ContentFormat format) {
+        Instant latestUpdateTime = userProfile.latestUpdateTime();
+        String version = Long.toHexString(userProfile.version()) + "-" + Long.toHexString(latestUpdateTime.getEpochSecond()) + "."
+                + Integer.toHexString(latestUpdateTime.getNano());
+        return new EntityTag(format == ContentFormat.JSON ? version : version + "-" + format.name().toLowerCase(Locale.ROOT));
     }
 
 }
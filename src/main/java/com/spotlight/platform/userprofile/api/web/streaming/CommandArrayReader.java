@@ -0,0 +1,73 @@
+package com.spotlight.platform.userprofile.api.web.streaming;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads a JSON array of commands one element at a time, so only the element being read is held in memory. An element that cannot be
+ * bound to a command is returned as a failure and reading continues with the next one; malformed JSON ends the stream with an
+ * exception.
+ */
+public class CommandArrayReader implements Closeable {
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private boolean finished;
+
+    public CommandArrayReader(ObjectMapper objectMapper, InputStream inputStream) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createParser(inputStream);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expected an array of commands");
+        }
+    }
+
+    /**
+     * Returns the next element of the array, or {@code null} once the array is exhausted.
+     */
+    public ParsedCommand next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        if (parser.nextToken() == JsonToken.END_ARRAY) {
+            finished = true;
+            return null;
+        }
+        JsonNode element = objectMapper.readTree(parser);
+        if (element == null || element.isNull()) {
+            return ParsedCommand.failed("Command must not be null");
+        }
+        try {
+            return ParsedCommand.of(objectMapper.treeToValue(element, UserProfileCommand.class));
+        } catch (JsonProcessingException e) {
+            return ParsedCommand.failed(e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    public record ParsedCommand(UserProfileCommand command, String error) {
+        public static ParsedCommand of(UserProfileCommand command) {
+            return new ParsedCommand(command, null);
+        }
+
+        public static ParsedCommand failed(String error) {
+            return new ParsedCommand(null, error);
+        }
+
+        public boolean isFailed() {
+            return error != null;
+        }
+    }
+}
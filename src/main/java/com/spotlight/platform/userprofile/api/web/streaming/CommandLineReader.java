@@ -0,0 +1,126 @@
+package com.spotlight.platform.userprofile.api.web.streaming;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.web.streaming.CommandArrayReader.ParsedCommand;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Reads newline delimited JSON commands one line at a time, as they arrive. Every line is parsed on its own and must hold exactly one
+ * value, so a malformed line is returned as a failure and reading continues with the next one; blank lines are skipped. Lines longer than {@value #MAX_LINE_BYTES}
+ * bytes are skipped and reported as failures, so memory stays bounded however long the stream is.
+ */
+public class CommandLineReader implements Closeable {
+    public static final int MAX_LINE_BYTES = 1 << 20;
+
+    private static final int BUFFER_BYTES = 8192;
+    private static final int INITIAL_LINE_BYTES = 1024;
+
+    private final ObjectMapper objectMapper;
+    private final InputStream inputStream;
+    private final byte[] buffer = new byte[BUFFER_BYTES];
+    private int position;
+    private int limit;
+    private byte[] line = new byte[INITIAL_LINE_BYTES];
+
+    public CommandLineReader(ObjectMapper objectMapper, InputStream inputStream) {
+        this.objectMapper = objectMapper;
+        this.inputStream = inputStream;
+    }
+
+    /**
+     * Returns the command of the next non-blank line, or {@code null} once the stream has ended. Blocks until a whole line has arrived.
+     */
+    public ParsedCommand next() throws IOException {
+        while (fill()) {
+            int length = 0;
+            boolean tooLong = false;
+            boolean endOfLine = false;
+            while (!endOfLine && fill()) {
+                int end = position;
+                while (end < limit && buffer[end] != '\n') {
+                    end++;
+                }
+                int chunk = end - position;
+                if (tooLong || length + chunk > MAX_LINE_BYTES) {
+                    tooLong = true;
+                } else {
+                    if (length + chunk > line.length) {
+                        line = Arrays.copyOf(line, Math.min(MAX_LINE_BYTES, Math.max(length + chunk, 2 * line.length)));
+                    }
+                    System.arraycopy(buffer, position, line, length, chunk);
+                    length += chunk;
+                }
+                endOfLine = end < limit;
+                position = endOfLine ? end + 1 : end;
+            }
+            if (tooLong) {
+                return ParsedCommand.failed("Line longer than " + MAX_LINE_BYTES + " bytes");
+            }
+            if (!isBlank(length)) {
+                return parse(length);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whether more input can be read without blocking. Callers use it to act on the commands read so far before waiting for more.
+     */
+    public boolean hasBufferedInput() throws IOException {
+        return position < limit || inputStream.available() > 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
+
+    private ParsedCommand parse(int length) {
+        try (JsonParser parser = objectMapper.createParser(line, 0, length)) {
+            JsonNode element = objectMapper.readTree(parser);
+            if (element == null || element.isNull()) {
+                return ParsedCommand.failed("Command must not be null");
+            }
+            if (parser.nextToken() != null) {
+                return ParsedCommand.failed("Unexpected content after the command");
+            }
+            return ParsedCommand.of(objectMapper.treeToValue(element, UserProfileCommand.class));
+        } catch (JsonProcessingException e) {
+            return ParsedCommand.failed(e.getOriginalMessage());
+        } catch (IOException e) {
+            return ParsedCommand.failed(e.getMessage());
+        }
+    }
+
+    /**
+     * Makes sure the buffer holds unread bytes, blocking until some arrive. Returns {@code false} at the end of the stream.
+     */
+    private boolean fill() throws IOException {
+        while (position == limit) {
+            int read = inputStream.read(buffer);
+            if (read == -1) {
+                return false;
+            }
+            position = 0;
+            limit = read;
+        }
+        return true;
+    }
+
+    private boolean isBlank(int length) {
+        for (int i = 0; i < length; i++) {
+            if (!Character.isWhitespace(line[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,77 @@
+package com.spotlight.platform.userprofile.api.web.streaming;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.spotlight.platform.userprofile.api.model.common.AlphaNumericalStringWithMaxLength;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyNames;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes a profile with only the requested properties, in the JSON shape of {@link UserProfile}. The properties are looked up in the
+ * stored map and written directly, no projected copy of the profile is built. Requested properties the profile doesn't have are left
+ * out.
+ */
+public final class ProfileProjectionWriter {
+    private ProfileProjectionWriter() {}
+
+    /**
+     * Splits a comma separated list of property names, dropping blanks and duplicates.
+     *
+     * @throws IllegalArgumentException if one of the names is not a valid property name
+     */
+    public static List<String> parseFields(String fields) {
+        Set<String> parsedFields = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String trimmedField = field.trim();
+            if (trimmedField.isEmpty()) {
+                continue;
+            }
+            if (!AlphaNumericalStringWithMaxLength.isValidValue(trimmedField)) {
+                throw new IllegalArgumentException("Invalid property name: " + trimmedField);
+            }
+            parsedFields.add(trimmedField);
+        }
+        return List.copyOf(parsedFields);
+    }
+
+    public static void write(JsonGenerator generator, UserProfile userProfile, Collection<String> fields) throws IOException {
+        Map<UserProfilePropertyName, UserProfilePropertyValue> properties = userProfile.userProfileProperties();
+        generator.writeStartObject();
+        generator.writeObjectField("userId", userProfile.userId());
+        generator.writeObjectField("latestUpdateTime", userProfile.latestUpdateTime());
+        generator.writeObjectFieldStart("userProfileProperties");
+        for (String field : fields) {
+            UserProfilePropertyValue value = find(properties, field);
+            if (value != null) {
+                generator.writeObjectField(field, value);
+            }
+        }
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    // Looks the field up without interning it, so that reads of unknown properties can't fill the intern table.
+    private static UserProfilePropertyValue find(Map<UserProfilePropertyName, UserProfilePropertyValue> properties, String field) {
+        UserProfilePropertyName name = UserProfilePropertyNames.lookup(field);
+        if (name != null) {
+            return properties.get(name);
+        }
+        if (!UserProfilePropertyNames.isFull()) {
+            return null;
+        }
+        for (Map.Entry<UserProfilePropertyName, UserProfilePropertyValue> property : properties.entrySet()) {
+            if (property.getKey().toString().equals(field)) {
+                return property.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,34 @@
+package com.spotlight.platform.userprofile.api.web.validation;
+
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+
+import javax.inject.Inject;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class UserProfileCommandValidation {
+    private final Validator validator;
+
+    @Inject
+    public UserProfileCommandValidation(Validator validator) {
+        this.validator = validator;
+    }
+
+    /**
+     * Returns the joined violation messages of the command, or empty when the command is valid. Valid commands are accepted by the
+     * allocation free check alone, bean validation only runs to build the messages of invalid ones.
+     */
+    public Optional<String> validate(UserProfileCommand command) {
+        if (command != null && command.getUserId() != null && UserProfileCommandValidator.isValidCommand(command)) {
+            return Optional.empty();
+        }
+        Set<ConstraintViolation<UserProfileCommand>> violations = validator.validate(command);
+        if (violations.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(violations.stream().map(ConstraintViolation::getMessage).collect(Collectors.joining("; ")));
+    }
+}
@@ -11,44 +11,45 @@ import java.util.Map;
 public class UserProfileCommandValidator implements ConstraintValidator<ValidUserProfileCommand, UserProfileCommand> {
     @Override
     public boolean isValid(UserProfileCommand command, ConstraintValidatorContext context) {
+        return isValidCommand(command);
+    }
+
+    /**
+     * Allocation free check used both by bean validation and directly on the request path. A missing userId is left to its
+     * {@code @NotNull} constraint so the reported message stays the same. The userId and the property names are not checked against
+     * the alphanumeric rules, command validation never cascaded into them.
+     */
+    public static boolean isValidCommand(UserProfileCommand command) {
         if (command == null || command.getType() == null) {
             return false;
         }
-        if ((command.getType() == UserProfileCommand.CommandType.INCREMENT)
-                && !isAllValuesInteger(command.getProperties())) {
-            return false;
-        }
-
-        if (command.getType() == UserProfileCommand.CommandType.COLLECT
-                && !isAllValuesList(command.getProperties())) {
+        if (command.getCommandId() != null && command.getCommandId().length() > UserProfileCommand.MAX_COMMAND_ID_LENGTH) {
             return false;
         }
-        return true;
-    }
-
-    private boolean isAllValuesInteger(Map<String, Object> properties) {
+        Map<String, Object> properties = command.getProperties();
         if (properties == null) {
             return true;
         }
-        return properties.values().stream().allMatch(value -> isInteger(value.toString()));
+        for (Map.Entry<String, Object> property : properties.entrySet()) {
+            if (!isValidValue(command.getType(), property.getValue())) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private boolean isInteger(String value) {
-        if (value == null || value.isEmpty()) {
-            return false;
-        }
-        try {
-            Integer.parseInt(value);
-            return true;
-        } catch (NumberFormatException e) {
-            return false;
+    private static boolean isValidValue(UserProfileCommand.CommandType type, Object value) {
+        switch (type) {
+            case INCREMENT:
+                return isInteger(value);
+            case COLLECT:
+                return value instanceof List;
+            default:
+                return true;
         }
     }
 
-    private boolean isAllValuesList(Map<String, Object> properties) {
-        if (properties == null) {
-            return true;
-        }
-        return properties.values().stream().allMatch(value -> value instanceof List);
+    private static boolean isInteger(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
     }
 }
@@ -1,7 +1,10 @@
 package com.spotlight.platform.userprofile.api.core;
 
 import com.spotlight.platform.userprofile.api.core.exceptions.EntityNotFoundException;
+import com.spotlight.platform.userprofile.api.core.profile.CommandDeduplicator;
+import com.spotlight.platform.userprofile.api.core.profile.CommandJournal;
 import com.spotlight.platform.userprofile.api.core.profile.UserProfileService;
+import com.spotlight.platform.userprofile.api.core.profile.commands.CommandHandlerFixtures;
 import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
 import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
 import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
@@ -20,6 +23,7 @@ import java.time.ZoneOffset;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -32,7 +36,8 @@ import static org.mockito.Mockito.when;
 public class UserProfileServiceTest {
 
     private final UserProfileDao userProfileDaoMock = mock(UserProfileDao.class);
-    private final UserProfileService userProfileService = new UserProfileService(userProfileDaoMock);
+    private final UserProfileService userProfileService = new UserProfileService(userProfileDaoMock, CommandHandlerFixtures.COMMAND_HANDLER_REGISTRY,
+            CommandJournal.NONE, ForkJoinPool.commonPool(), CommandDeduplicator.NONE);
 
     @Test
     void getForExistingUser_returnsUser() {
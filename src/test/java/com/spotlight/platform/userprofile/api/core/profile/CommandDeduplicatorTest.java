@@ -0,0 +1,74 @@
+package com.spotlight.platform.userprofile.api.core.profile;
+
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommandDeduplicatorTest {
+    private static final UserId USER = UserId.valueOf("user");
+    private static final UserId OTHER_USER = UserId.valueOf("otherUser");
+    private static final Duration WINDOW = Duration.ofMinutes(1);
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final CommandDeduplicator deduplicator = new CommandDeduplicator(1_000, WINDOW, nanoTime::get);
+
+    @Test
+    void repeatedCommandId_isDuplicate() {
+        assertThat(deduplicator.markApplied(USER, "command-1")).isTrue();
+        assertThat(deduplicator.markApplied(USER, "command-1")).isFalse();
+        assertThat(deduplicator.markApplied(USER, "command-2")).isTrue();
+    }
+
+    @Test
+    void commandIds_areScopedByUser() {
+        assertThat(deduplicator.markApplied(USER, "command-1")).isTrue();
+        assertThat(deduplicator.markApplied(OTHER_USER, "command-1")).isTrue();
+    }
+
+    @Test
+    void commandWithoutId_isNeverDuplicate() {
+        assertThat(deduplicator.markApplied(USER, null)).isTrue();
+        assertThat(deduplicator.markApplied(USER, null)).isTrue();
+    }
+
+    @Test
+    void forgottenCommandId_isNewAgain() {
+        deduplicator.markApplied(USER, "command-1");
+
+        deduplicator.forget(USER, "command-1");
+
+        assertThat(deduplicator.markApplied(USER, "command-1")).isTrue();
+    }
+
+    @Test
+    void commandId_isRememberedForOneWindowAndForgottenAfterTwo() {
+        deduplicator.markApplied(USER, "command-1");
+
+        nanoTime.addAndGet(WINDOW.toNanos());
+        assertThat(deduplicator.markApplied(USER, "command-1")).isFalse();
+
+        nanoTime.addAndGet(2 * WINDOW.toNanos());
+        assertThat(deduplicator.markApplied(USER, "command-1")).isTrue();
+    }
+
+    @Test
+    void manyCommandIds_keepRecentOnes() {
+        IntStream.range(0, 100_000).forEach(i -> deduplicator.markApplied(USER, "command-" + i));
+
+        assertThat(deduplicator.markApplied(USER, "command-99999")).isFalse();
+        assertThat(deduplicator.markApplied(USER, "command-0")).isTrue();
+    }
+
+    @Test
+    void none_neverReportsDuplicates() {
+        CommandDeduplicator.NONE.markApplied(USER, "command-1");
+
+        assertThat(CommandDeduplicator.NONE.markApplied(USER, "command-1")).isTrue();
+    }
+}
@@ -0,0 +1,191 @@
+package com.spotlight.platform.userprofile.api.core.profile;
+
+import com.spotlight.platform.userprofile.api.core.profile.commands.CommandHandlerFixtures;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDaoInMemory;
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommandResult;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class UserProfileServiceBatchTest {
+    private static final UserId FIRST_USER = UserId.valueOf("first-user");
+    private static final UserId SECOND_USER = UserId.valueOf("second-user");
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final UserProfileDao userProfileDao = spy(new UserProfileDaoInMemory());
+    private final UserProfileService userProfileService = new UserProfileService(userProfileDao,
+            CommandHandlerFixtures.COMMAND_HANDLER_REGISTRY, CommandJournal.NONE, executor, CommandDeduplicator.NONE);
+
+    private final UserProfileService deduplicatingService = new UserProfileService(userProfileDao,
+            CommandHandlerFixtures.COMMAND_HANDLER_REGISTRY, CommandJournal.NONE, executor,
+            new CommandDeduplicator(1_000, Duration.ofMinutes(1)));
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void commandsOfSameUser_areAppliedInOrderWithSingleUpdate() {
+        var results = userProfileService.processCommands(List.of(
+                command(FIRST_USER, UserProfileCommand.CommandType.REPLACE, Map.of("gold", 10)),
+                command(SECOND_USER, UserProfileCommand.CommandType.INCREMENT, Map.of("gold", 1)),
+                command(FIRST_USER, UserProfileCommand.CommandType.INCREMENT, Map.of("gold", 5)),
+                command(FIRST_USER, UserProfileCommand.CommandType.REPLACE, Map.of("gold", 100))));
+
+        assertThat(results).allMatch(UserProfileCommandResult::isApplied).hasSize(4);
+        assertThat(gold(FIRST_USER)).isEqualTo(UserProfilePropertyValue.valueOf(100));
+        assertThat(gold(SECOND_USER)).isEqualTo(UserProfilePropertyValue.valueOf(1));
+        verify(userProfileDao, times(1)).update(eq(FIRST_USER), any(UnaryOperator.class));
+        verify(userProfileDao, times(1)).update(eq(SECOND_USER), any(UnaryOperator.class));
+    }
+
+    @Test
+    void findAll_returnsProfilesInOrderOfIds() {
+        List<UserId> userIds = IntStream.range(0, 200).mapToObj(i -> UserId.valueOf("user-" + i)).toList();
+        userProfileService.processCommands(userIds.stream()
+                .filter(userId -> !userId.equals(UserId.valueOf("user-150")))
+                .map(userId -> command(userId, UserProfileCommand.CommandType.REPLACE, Map.of("gold", 1)))
+                .toList());
+
+        List<Optional<UserProfile>> userProfiles = userProfileService.findAll(userIds).toList();
+
+        assertThat(userProfiles).hasSize(200);
+        assertThat(userProfiles.get(150)).isEmpty();
+        for (int i = 0; i < 200; i++) {
+            if (i != 150) {
+                assertThat(userProfiles.get(i)).map(UserProfile::userId).contains(userIds.get(i));
+            }
+        }
+    }
+
+    @Test
+    void findAll_looksProfilesUpAsTheyAreConsumed() {
+        List<UserId> userIds = List.of(FIRST_USER, SECOND_USER);
+
+        var userProfiles = userProfileService.findAll(userIds);
+        verify(userProfileDao, never()).get(any());
+
+        assertThat(userProfiles.findFirst()).contains(Optional.empty());
+        verify(userProfileDao).get(FIRST_USER);
+        verify(userProfileDao, never()).get(SECOND_USER);
+    }
+
+    @Test
+    void failingCommand_isReportedAndOthersAreApplied() {
+        var results = userProfileService.processCommands(List.of(
+                command(FIRST_USER, UserProfileCommand.CommandType.REPLACE, Map.of("gold", "none")),
+                command(FIRST_USER, UserProfileCommand.CommandType.INCREMENT, Map.of("gold", 5)),
+                command(FIRST_USER, UserProfileCommand.CommandType.REPLACE, Map.of("silver", 3))));
+
+        assertThat(results).extracting(UserProfileCommandResult::status).containsExactly(UserProfileCommandResult.Status.APPLIED,
+                UserProfileCommandResult.Status.FAILED, UserProfileCommandResult.Status.APPLIED);
+        assertThat(gold(FIRST_USER)).isEqualTo(UserProfilePropertyValue.valueOf("none"));
+    }
+
+    @Test
+    void commandFailingAfterItsFirstProperty_leavesNoPartialChanges() {
+        Map<String, Object> partlyInvalid = new LinkedHashMap<>();
+        partlyInvalid.put("gold", 5);
+        partlyInvalid.put("title", 1);
+
+        var results = userProfileService.processCommands(List.of(
+                command(FIRST_USER, UserProfileCommand.CommandType.REPLACE, Map.of("gold", 10, "title", "knight")),
+                command(FIRST_USER, UserProfileCommand.CommandType.INCREMENT, partlyInvalid),
+                command(FIRST_USER, UserProfileCommand.CommandType.REPLACE, Map.of("silver", 3))));
+
+        assertThat(results).extracting(UserProfileCommandResult::status).containsExactly(UserProfileCommandResult.Status.APPLIED,
+                UserProfileCommandResult.Status.FAILED, UserProfileCommandResult.Status.APPLIED);
+        assertThat(gold(FIRST_USER)).isEqualTo(UserProfilePropertyValue.valueOf(10));
+        assertThat(userProfileService.get(FIRST_USER).version()).isEqualTo(2);
+    }
+
+    @Test
+    void retriedCommandId_isSkippedAsDuplicate() {
+        deduplicatingService.processCommands(List.of(command(FIRST_USER, UserProfileCommand.CommandType.INCREMENT, Map.of("gold", 5),
+                "retried")));
+
+        var results = deduplicatingService.processCommands(List.of(
+                command(FIRST_USER, UserProfileCommand.CommandType.INCREMENT, Map.of("gold", 5), "retried"),
+                command(FIRST_USER, UserProfileCommand.CommandType.INCREMENT, Map.of("gold", 1), "next"),
+                command(FIRST_USER, UserProfileCommand.CommandType.INCREMENT, Map.of("gold", 1), "next")));
+
+        assertThat(results).extracting(UserProfileCommandResult::status).containsExactly(UserProfileCommandResult.Status.DUPLICATE,
+                UserProfileCommandResult.Status.APPLIED, UserProfileCommandResult.Status.DUPLICATE);
+        assertThat(gold(FIRST_USER)).isEqualTo(UserProfilePropertyValue.valueOf(6));
+    }
+
+    @Test
+    void failedCommandId_canBeRetried() {
+        var failed = deduplicatingService.processCommands(List.of(command(FIRST_USER, UserProfileCommand.CommandType.COLLECT,
+                Map.of("inventory", "sword"), "collect")));
+        var retried = deduplicatingService.processCommands(List.of(command(FIRST_USER, UserProfileCommand.CommandType.COLLECT,
+                Map.of("inventory", List.of("sword")), "collect")));
+
+        assertThat(failed).extracting(UserProfileCommandResult::status).containsExactly(UserProfileCommandResult.Status.FAILED);
+        assertThat(retried).extracting(UserProfileCommandResult::status).containsExactly(UserProfileCommandResult.Status.APPLIED);
+    }
+
+    @Test
+    void retriedSingleCommand_isAppliedOnce() {
+        var command = command(SECOND_USER, UserProfileCommand.CommandType.INCREMENT, Map.of("gold", 5), "single");
+
+        deduplicatingService.processCommands(command);
+        deduplicatingService.processCommands(command);
+
+        assertThat(gold(SECOND_USER)).isEqualTo(UserProfilePropertyValue.valueOf(5));
+    }
+
+    @Test
+    void onlyFailingCommandsForNewUser_noProfileIsCreated() {
+        var results = userProfileService.processCommands(List.of(command(FIRST_USER, UserProfileCommand.CommandType.COLLECT,
+                Map.of("inventory", "sword"))));
+
+        assertThat(results).extracting(UserProfileCommandResult::status).containsExactly(UserProfileCommandResult.Status.FAILED);
+        assertThat(userProfileDao.get(FIRST_USER)).isEmpty();
+    }
+
+    @Test
+    void commandWithoutUser_isReportedAsFailed() {
+        var results = userProfileService.processCommands(List.of(command(null, UserProfileCommand.CommandType.REPLACE, Map.of("gold", 1))));
+
+        assertThat(results).extracting(UserProfileCommandResult::status).containsExactly(UserProfileCommandResult.Status.FAILED);
+    }
+
+    private UserProfilePropertyValue gold(UserId userId) {
+        return userProfileService.get(userId).userProfileProperties().get(UserProfilePropertyName.valueOf("gold"));
+    }
+
+    private static UserProfileCommand command(UserId userId, UserProfileCommand.CommandType type, Map<String, Object> properties) {
+        return new UserProfileCommand(userId, type, properties);
+    }
+
+    private static UserProfileCommand command(UserId userId, UserProfileCommand.CommandType type, Map<String, Object> properties,
+                                              String commandId) {
+        return new UserProfileCommand(userId, type, properties, commandId);
+    }
+}
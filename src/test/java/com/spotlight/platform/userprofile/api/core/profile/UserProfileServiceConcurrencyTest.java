@@ -0,0 +1,93 @@
+package com.spotlight.platform.userprofile.api.core.profile;
+
+import com.spotlight.platform.userprofile.api.core.profile.commands.CommandHandlerFixtures;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDaoInMemory;
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserProfileServiceConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int INCREMENTS_PER_THREAD = 1_000;
+    private static final UserProfilePropertyName COUNTER = UserProfilePropertyName.valueOf("battleFought");
+
+    private final UserProfileService userProfileService = new UserProfileService(new UserProfileDaoInMemory(),
+            CommandHandlerFixtures.COMMAND_HANDLER_REGISTRY, CommandJournal.NONE, ForkJoinPool.commonPool(), CommandDeduplicator.NONE);
+
+    @Test
+    void concurrentIncrementsOfSameUser_noUpdateIsLost() throws Exception {
+        var userId = UserId.valueOf("contended-user");
+
+        runConcurrently(thread -> userId);
+
+        assertThat(userProfileService.get(userId).userProfileProperties().get(COUNTER)).isEqualTo(
+                UserProfilePropertyValue.valueOf(THREADS * INCREMENTS_PER_THREAD));
+    }
+
+    @Test
+    void concurrentIncrementsOfDifferentUsers_eachUserIsCountedSeparately() throws Exception {
+        runConcurrently(thread -> UserId.valueOf("user-" + thread));
+
+        for (int thread = 0; thread < THREADS; thread++) {
+            assertThat(userProfileService.get(UserId.valueOf("user-" + thread)).userProfileProperties().get(COUNTER)).isEqualTo(
+                    UserProfilePropertyValue.valueOf(INCREMENTS_PER_THREAD));
+        }
+    }
+
+    @Test
+    void readProfile_isNotChangedByLaterCommands() throws Exception {
+        var userId = UserId.valueOf("read-user");
+        userProfileService.processCommands(new UserProfileCommand(userId, UserProfileCommand.CommandType.INCREMENT,
+                Map.of(COUNTER.toString(), 1)));
+        var readProfile = userProfileService.get(userId);
+
+        runConcurrently(thread -> userId);
+
+        assertThat(readProfile.userProfileProperties().get(COUNTER)).isEqualTo(UserProfilePropertyValue.valueOf(1));
+        assertThat(userProfileService.get(userId).version()).isEqualTo(1L + THREADS * INCREMENTS_PER_THREAD);
+    }
+
+    private void runConcurrently(IntFunction<UserId> userIdForThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                UserId userId = userIdForThread.apply(thread);
+                futures.add(CompletableFuture.runAsync(() -> {
+                    await(barrier);
+                    for (int i = 0; i < INCREMENTS_PER_THREAD; i++) {
+                        userProfileService.processCommands(new UserProfileCommand(userId, UserProfileCommand.CommandType.INCREMENT,
+                                Map.of(COUNTER.toString(), 1)));
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.spotlight.platform.userprofile.api.core.profile.commands;
+
+import com.spotlight.platform.userprofile.api.model.configuration.CollectConfiguration;
+import com.spotlight.platform.userprofile.api.model.configuration.CollectPolicy;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CollectCommandHandlerTest {
+    private static final UserProfilePropertyName INVENTORY = UserProfilePropertyName.valueOf("inventory");
+
+    private final CommandHandler handler = new CollectCommandHandler();
+    private final Map<UserProfilePropertyName, UserProfilePropertyValue> properties = new HashMap<>();
+
+    @Test
+    void missingProperty_startsFromEmptyList() {
+        handler.apply(properties, Map.of("inventory", List.of("sword1")));
+
+        assertThat(properties).containsEntry(INVENTORY, UserProfilePropertyValue.valueOf(List.of("sword1")));
+    }
+
+    @Test
+    void existingProperty_valuesAreAppended() {
+        properties.put(INVENTORY, UserProfilePropertyValue.valueOf(new ArrayList<>(List.of("sword1"))));
+
+        handler.apply(properties, Map.of("inventory", List.of("shield1")));
+
+        assertThat(properties).containsEntry(INVENTORY, UserProfilePropertyValue.valueOf(List.of("sword1", "shield1")));
+    }
+
+    @Test
+    void nonListProperty_throwsException() {
+        properties.put(INVENTORY, UserProfilePropertyValue.valueOf("sword1"));
+
+        assertThatThrownBy(() -> handler.apply(properties, Map.of("inventory", List.of("shield1")))).isExactlyInstanceOf(
+                IllegalArgumentException.class);
+    }
+
+    @Test
+    void boundedPolicy_evictsOldestElements() {
+        var handler = handlerWith(new CollectPolicy(CollectPolicy.Mode.BOUNDED, 3));
+
+        handler.apply(properties, Map.of("inventory", List.of("a", "b")));
+        handler.apply(properties, Map.of("inventory", List.of("c", "d", "e")));
+
+        assertThat(properties.get(INVENTORY).getValue()).isEqualTo(List.of("c", "d", "e"));
+    }
+
+    @Test
+    void boundedPolicy_convertsExistingList() {
+        properties.put(INVENTORY, UserProfilePropertyValue.valueOf(List.of("a", "b", "c")));
+
+        handlerWith(new CollectPolicy(CollectPolicy.Mode.BOUNDED, 2)).apply(properties, Map.of("inventory", List.of("d")));
+
+        assertThat(properties.get(INVENTORY)).isInstanceOf(UserProfilePropertyValue.BoundedListValue.class);
+        assertThat(properties.get(INVENTORY).getValue()).isEqualTo(List.of("c", "d"));
+    }
+
+    @Test
+    void boundedPolicy_growsUpToMaxLength() {
+        var handler = handlerWith(new CollectPolicy(CollectPolicy.Mode.BOUNDED, 20));
+
+        for (int i = 0; i < 25; i++) {
+            handler.apply(properties, Map.of("inventory", List.of(i)));
+        }
+
+        assertThat(properties.get(INVENTORY).getValue()).asList().hasSize(20).startsWith(5).endsWith(24);
+    }
+
+    @Test
+    void setPolicy_keepsDistinctElementsInFirstCollectedOrder() {
+        var handler = handlerWith(new CollectPolicy(CollectPolicy.Mode.SET, 3));
+
+        handler.apply(properties, Map.of("inventory", List.of("a", "b", "a")));
+        handler.apply(properties, Map.of("inventory", List.of("b", "c", "d")));
+
+        assertThat(((UserProfilePropertyValue.CollectionValue) properties.get(INVENTORY)).elements()).containsExactly("b", "c", "d");
+    }
+
+    @Test
+    void countPolicy_keepsNumberOfElements() {
+        properties.put(INVENTORY, UserProfilePropertyValue.valueOf(List.of("a")));
+        var handler = handlerWith(new CollectPolicy(CollectPolicy.Mode.COUNT, null));
+
+        handler.apply(properties, Map.of("inventory", List.of("b", "c")));
+        handler.apply(properties, Map.of("inventory", List.of("d")));
+
+        assertThat(properties).containsEntry(INVENTORY, UserProfilePropertyValue.valueOf(4L));
+    }
+
+    @Test
+    void policyOfOtherProperty_doesNotApply() {
+        var handler = new CollectCommandHandler(new CollectConfiguration(CollectPolicy.APPEND,
+                Map.of("achievements", new CollectPolicy(CollectPolicy.Mode.COUNT, null))));
+
+        handler.apply(properties, Map.of("inventory", List.of("a")));
+
+        assertThat(properties).containsEntry(INVENTORY, UserProfilePropertyValue.valueOf(List.of("a")));
+    }
+
+    private static CommandHandler handlerWith(CollectPolicy policy) {
+        return new CollectCommandHandler(new CollectConfiguration(CollectPolicy.APPEND, Map.of("inventory", policy)));
+    }
+}
@@ -0,0 +1,11 @@
+package com.spotlight.platform.userprofile.api.core.profile.commands;
+
+import java.util.Set;
+
+public class CommandHandlerFixtures {
+    public static final CommandHandlerRegistry COMMAND_HANDLER_REGISTRY = new CommandHandlerRegistry(
+            Set.of(new ReplaceCommandHandler(), new IncrementCommandHandler(), new CollectCommandHandler()));
+
+    private CommandHandlerFixtures() {
+    }
+}
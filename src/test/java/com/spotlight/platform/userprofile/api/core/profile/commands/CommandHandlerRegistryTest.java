@@ -0,0 +1,34 @@
+package com.spotlight.platform.userprofile.api.core.profile.commands;
+
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CommandHandlerRegistryTest {
+
+    @Test
+    void everyCommandType_hasHandler() {
+        for (UserProfileCommand.CommandType type : UserProfileCommand.CommandType.values()) {
+            assertThat(CommandHandlerFixtures.COMMAND_HANDLER_REGISTRY.get(type).type()).isEqualTo(type);
+        }
+    }
+
+    @Test
+    void missingHandler_throwsException() {
+        var registry = new CommandHandlerRegistry(Set.of(new ReplaceCommandHandler()));
+
+        assertThatThrownBy(() -> registry.get(UserProfileCommand.CommandType.COLLECT)).isExactlyInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.get(null)).isExactlyInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void duplicateHandler_throwsException() {
+        assertThatThrownBy(() -> new CommandHandlerRegistry(Set.of(new ReplaceCommandHandler(), new ReplaceCommandHandler()))).isExactlyInstanceOf(
+                IllegalStateException.class);
+    }
+}
@@ -0,0 +1,72 @@
+package com.spotlight.platform.userprofile.api.core.profile.commands;
+
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue.LongValue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IncrementCommandHandlerTest {
+    private static final UserProfilePropertyName BATTLE_FOUGHT = UserProfilePropertyName.valueOf("battleFought");
+
+    private final CommandHandler handler = new IncrementCommandHandler();
+    private final Map<UserProfilePropertyName, UserProfilePropertyValue> properties = new HashMap<>();
+
+    @Test
+    void missingProperty_startsFromZero() {
+        handler.apply(properties, Map.of("battleFought", 3));
+
+        assertThat(properties).containsEntry(BATTLE_FOUGHT, UserProfilePropertyValue.valueOf(3));
+    }
+
+    @Test
+    void existingProperty_isIncremented() {
+        properties.put(BATTLE_FOUGHT, UserProfilePropertyValue.valueOf(10));
+
+        handler.apply(properties, Map.of("battleFought", -4));
+
+        assertThat(properties).containsEntry(BATTLE_FOUGHT, UserProfilePropertyValue.valueOf(6));
+    }
+
+    @Test
+    void nonNumericProperty_throwsException() {
+        properties.put(BATTLE_FOUGHT, UserProfilePropertyValue.valueOf("many"));
+
+        assertThatThrownBy(() -> handler.apply(properties, Map.of("battleFought", 1))).isExactlyInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void existingCounter_isIncrementedInPlaceAndExactly() {
+        var counter = UserProfilePropertyValue.valueOf(Long.MAX_VALUE - 10);
+        properties.put(BATTLE_FOUGHT, counter);
+
+        handler.apply(properties, Map.of("battleFought", 9L));
+
+        assertThat(properties.get(BATTLE_FOUGHT)).isSameAs(counter);
+        assertThat(((LongValue) counter).longValue()).isEqualTo(Long.MAX_VALUE - 1);
+    }
+
+    @Test
+    void overflowingCounter_throwsException() {
+        properties.put(BATTLE_FOUGHT, UserProfilePropertyValue.valueOf(Long.MAX_VALUE));
+
+        assertThatThrownBy(() -> handler.apply(properties, Map.of("battleFought", 1))).isExactlyInstanceOf(IllegalArgumentException.class);
+        assertThat(properties).containsEntry(BATTLE_FOUGHT, UserProfilePropertyValue.valueOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    void fractionalIncrement_turnsCounterIntoDouble() {
+        properties.put(BATTLE_FOUGHT, UserProfilePropertyValue.valueOf(1));
+
+        handler.apply(properties, Map.of("battleFought", 0.5));
+        handler.apply(properties, Map.of("battleFought", 1));
+
+        assertThat(properties).containsEntry(BATTLE_FOUGHT, UserProfilePropertyValue.valueOf(2.5));
+    }
+}
@@ -0,0 +1,27 @@
+package com.spotlight.platform.userprofile.api.core.profile.commands;
+
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplaceCommandHandlerTest {
+    private static final UserProfilePropertyName CURRENT_GOLD = UserProfilePropertyName.valueOf("currentGold");
+
+    private final CommandHandler handler = new ReplaceCommandHandler();
+    private final Map<UserProfilePropertyName, UserProfilePropertyValue> properties = new HashMap<>();
+
+    @Test
+    void existingProperty_isOverwritten() {
+        properties.put(CURRENT_GOLD, UserProfilePropertyValue.valueOf(250));
+
+        handler.apply(properties, Map.of("currentGold", "a lot"));
+
+        assertThat(properties).containsEntry(CURRENT_GOLD, UserProfilePropertyValue.valueOf("a lot"));
+    }
+}
@@ -0,0 +1,125 @@
+package com.spotlight.platform.userprofile.api.core.profile.ingestion;
+
+import com.codahale.metrics.MetricRegistry;
+import com.spotlight.platform.userprofile.api.core.profile.CommandDeduplicator;
+import com.spotlight.platform.userprofile.api.core.profile.CommandJournal;
+import com.spotlight.platform.userprofile.api.core.profile.UserProfileService;
+import com.spotlight.platform.userprofile.api.core.profile.commands.CommandHandlerFixtures;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDaoInMemory;
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommandIngestionQueueTest {
+    private static final UserProfilePropertyName GOLD = UserProfilePropertyName.valueOf("gold");
+    private static final ThreadFactory WORKER_THREADS = Thread.ofPlatform().daemon().factory();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final CountDownLatch updatesAllowed = new CountDownLatch(1);
+    private final UserProfileDao userProfileDao = new UserProfileDaoInMemory() {
+        @Override
+        public UserProfile update(UserId userId, UnaryOperator<UserProfile> operator) {
+            try {
+                updatesAllowed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.update(userId, operator);
+        }
+    };
+    private final UserProfileService userProfileService = new UserProfileService(userProfileDao,
+            CommandHandlerFixtures.COMMAND_HANDLER_REGISTRY, CommandJournal.NONE, executor, CommandDeduplicator.NONE);
+    private final MetricRegistry metrics = new MetricRegistry();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void acceptedCommands_areAppliedInOrderPerUser() throws InterruptedException {
+        var queue = new CommandIngestionQueue(userProfileService, 4, 1000, WORKER_THREADS, metrics);
+        queue.start();
+        updatesAllowed.countDown();
+
+        List<UserProfileCommand> commands = IntStream.range(0, 200)
+                .mapToObj(i -> increment("user-" + (i % 10), 1))
+                .toList();
+        assertThat(queue.offer(commands)).isTrue();
+        assertThat(queue.offer(List.of(replace("user-0", 1000), increment("user-0", 5)))).isTrue();
+        queue.stop();
+
+        assertThat(queue.pending()).isZero();
+        assertThat(gold("user-0")).isEqualTo(UserProfilePropertyValue.valueOf(1005));
+        assertThat(gold("user-9")).isEqualTo(UserProfilePropertyValue.valueOf(20));
+        assertThat(metrics.counter(MetricRegistry.name(CommandIngestionQueue.class, "accepted")).getCount()).isEqualTo(202);
+    }
+
+    @Test
+    void fullQueue_rejectsWholeBatch() throws InterruptedException {
+        var queue = new CommandIngestionQueue(userProfileService, 1, 3, WORKER_THREADS, metrics);
+        queue.start();
+
+        assertThat(queue.offer(List.of(increment("user-1", 1), increment("user-2", 1)))).isTrue();
+        assertThat(queue.offer(List.of(increment("user-3", 1), increment("user-4", 1)))).isFalse();
+        assertThat(queue.pending()).isEqualTo(2);
+        assertThat(metrics.counter(MetricRegistry.name(CommandIngestionQueue.class, "rejected")).getCount()).isEqualTo(2);
+
+        updatesAllowed.countDown();
+        queue.stop();
+
+        assertThat(queue.pending()).isZero();
+        assertThat(userProfileDao.get(UserId.valueOf("user-3"))).isEmpty();
+        assertThat(queue.offer(List.of(increment("user-3", 1)))).isFalse();
+    }
+
+    @Test
+    void notStarted_rejects() {
+        var queue = new CommandIngestionQueue(userProfileService, 1, 10, WORKER_THREADS, metrics);
+
+        assertThat(queue.offer(List.of(increment("user-1", 1)))).isFalse();
+    }
+
+    @Test
+    void failingCommand_isCountedAndOthersAreApplied() throws InterruptedException {
+        var queue = new CommandIngestionQueue(userProfileService, 1, 10, WORKER_THREADS, metrics);
+        queue.start();
+        updatesAllowed.countDown();
+
+        queue.offer(List.of(replace("user-1", 1), new UserProfileCommand(UserId.valueOf("user-1"),
+                UserProfileCommand.CommandType.INCREMENT, Map.of("gold", "many")), increment("user-1", 2)));
+        queue.stop();
+
+        assertThat(gold("user-1")).isEqualTo(UserProfilePropertyValue.valueOf(3));
+        assertThat(metrics.counter(MetricRegistry.name(CommandIngestionQueue.class, "failed")).getCount()).isEqualTo(1);
+    }
+
+    private UserProfilePropertyValue gold(String userId) {
+        return userProfileDao.get(UserId.valueOf(userId)).orElseThrow().userProfileProperties().get(GOLD);
+    }
+
+    private static UserProfileCommand increment(String userId, int gold) {
+        return new UserProfileCommand(UserId.valueOf(userId), UserProfileCommand.CommandType.INCREMENT, Map.of("gold", gold));
+    }
+
+    private static UserProfileCommand replace(String userId, int gold) {
+        return new UserProfileCommand(UserId.valueOf(userId), UserProfileCommand.CommandType.REPLACE, Map.of("gold", gold));
+    }
+}
@@ -0,0 +1,94 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence;
+
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class PartitionedLookupTest {
+    private static final int PARTITIONS = 2;
+
+    @Test
+    void getAll_returnsProfilesInOrderOfIdsAcrossWindows() {
+        List<UserId> userIds = IntStream.range(0, 3 * PartitionedLookup.WINDOW_SIZE + 7).mapToObj(i -> UserId.valueOf("user-" + i))
+                .toList();
+
+        var userProfiles = PartitionedLookup.getAll(userIds, PARTITIONS, PartitionedLookupTest::partitionOf,
+                userId -> userId.toString().endsWith("3") ? Optional.empty() : Optional.of(profile(userId))).toList();
+
+        assertThat(userProfiles).hasSameSizeAs(userIds);
+        for (int i = 0; i < userIds.size(); i++) {
+            assertThat(userProfiles.get(i).map(UserProfile::userId)).isEqualTo(i % 10 == 3 ? Optional.empty() : Optional.of(userIds.get(i)));
+        }
+    }
+
+    @Test
+    void getAll_looksPartitionsUpInParallel() {
+        List<UserId> userIds = IntStream.range(0, 100).mapToObj(i -> UserId.valueOf("user-" + i)).toList();
+        // Every partition waits until all of them have started, which only happens if they are looked up at the same time.
+        var startedPartitions = new CountDownLatch(PARTITIONS);
+        Map<Integer, Boolean> started = new ConcurrentHashMap<>();
+
+        var userProfiles = assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+                PartitionedLookup.getAll(userIds, PARTITIONS, PartitionedLookupTest::partitionOf, userId -> {
+                    if (started.putIfAbsent(partitionOf(userId), true) == null) {
+                        startedPartitions.countDown();
+                    }
+                    try {
+                        assertThat(startedPartitions.await(5, TimeUnit.SECONDS)).isTrue();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return Optional.of(profile(userId));
+                }).toList());
+
+        assertThat(userProfiles).extracting(userProfile -> userProfile.orElseThrow().userId()).containsExactlyElementsOf(userIds);
+    }
+
+    @Test
+    void getAll_looksUpNothingBeforeConsumed() {
+        var lookups = new AtomicInteger();
+
+        var userProfiles = PartitionedLookup.getAll(List.of(UserId.valueOf("user")), PARTITIONS, PartitionedLookupTest::partitionOf,
+                userId -> {
+                    lookups.incrementAndGet();
+                    return Optional.empty();
+                });
+
+        assertThat(lookups).hasValue(0);
+        assertThat(userProfiles.toList()).containsExactly(Optional.empty());
+    }
+
+    @Test
+    void failingLookup_failsTheStream() {
+        var userProfiles = PartitionedLookup.getAll(List.of(UserId.valueOf("user")), PARTITIONS, PartitionedLookupTest::partitionOf,
+                userId -> {
+                    throw new IllegalStateException("Store is broken");
+                });
+
+        assertThatThrownBy(userProfiles::toList).isInstanceOf(IllegalStateException.class).hasMessage("Store is broken");
+    }
+
+    private static int partitionOf(UserId userId) {
+        return Math.floorMod(userId.hashCode(), PARTITIONS);
+    }
+
+    private static UserProfile profile(UserId userId) {
+        return new UserProfile(userId, Instant.parse("2022-01-01T10:00:00Z"), Map.of());
+    }
+}
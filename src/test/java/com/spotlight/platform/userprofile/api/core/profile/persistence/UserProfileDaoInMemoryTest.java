@@ -1,9 +1,12 @@
 package com.spotlight.platform.userprofile.api.core.profile.persistence;
 
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
 import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+
 import static com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures.USER_PROFILE;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -23,4 +26,37 @@ class UserProfileDaoInMemoryTest {
         assertThat(dao.get(UserProfileFixtures.USER_ID)).hasValueSatisfying(
                 userProfile -> assertThat(userProfile).usingRecursiveComparison().isEqualTo(USER_PROFILE));
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateNonExistingUser_OperatorReceivesNullAndResultIsStored() {
+        var stored = dao.update(UserProfileFixtures.NON_EXISTING_USER_ID, userProfile -> {
+            assertThat(userProfile).isNull();
+            return USER_PROFILE;
+        });
+
+        assertThat(stored).isSameAs(USER_PROFILE);
+        assertThat(dao.get(UserProfileFixtures.NON_EXISTING_USER_ID)).containsSame(USER_PROFILE);
+    }
+
+    @Test
+    void updateExistingUser_OperatorReceivesStoredProfile() {
+        dao.put(USER_PROFILE);
+
+        dao.update(UserProfileFixtures.USER_ID, userProfile -> {
+            assertThat(userProfile).isSameAs(USER_PROFILE);
+            return userProfile;
+        });
+
+        assertThat(dao.get(UserProfileFixtures.USER_ID)).containsSame(USER_PROFILE);
+    }
+
+    @Test
+    void forEach_VisitsEveryStoredProfile() {
+        dao.put(USER_PROFILE);
+        var visited = new ArrayList<UserProfile>();
+
+        dao.forEach(visited::add);
+
+        assertThat(visited).containsExactly(USER_PROFILE);
+    }
+}
@@ -0,0 +1,198 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence;
+
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue.LongValue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures.USER_PROFILE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserProfileDaoOffHeapTest {
+    private static final int CHUNK_SIZE = 4096;
+    private static final UserProfilePropertyName GOLD = UserProfilePropertyName.valueOf("gold");
+
+    private final UserProfileDaoOffHeap dao = new UserProfileDaoOffHeap(JsonMapper.getInstance(), CHUNK_SIZE);
+
+    @Test
+    void getNonExistingUser_OptionalEmptyReturned() {
+        assertThat(dao.get(UserProfileFixtures.NON_EXISTING_USER_ID)).isEmpty();
+    }
+
+    @Test
+    void putAndGetUser_ReturnsCorrectValues() {
+        dao.put(USER_PROFILE);
+
+        assertThat(dao.get(UserProfileFixtures.USER_ID)).hasValueSatisfying(
+                userProfile -> assertThat(userProfile).usingRecursiveComparison().isEqualTo(USER_PROFILE));
+    }
+
+    @Test
+    void putAndGetUser_KeepsVersion() {
+        dao.put(USER_PROFILE.nextVersion(UserProfileFixtures.LAST_UPDATE_TIMESTAMP));
+
+        assertThat(dao.get(UserProfileFixtures.USER_ID).map(UserProfile::version)).contains(1L);
+    }
+
+    @Test
+    void updateNonExistingUser_OperatorReceivesNullAndResultIsStored() {
+        dao.update(UserProfileFixtures.NON_EXISTING_USER_ID, userProfile -> {
+            assertThat(userProfile).isNull();
+            return profile(UserProfileFixtures.NON_EXISTING_USER_ID, 1);
+        });
+
+        assertThat(gold(UserProfileFixtures.NON_EXISTING_USER_ID)).isEqualTo(UserProfilePropertyValue.valueOf(1));
+        assertThat(dao.size()).isEqualTo(1);
+    }
+
+    @Test
+    void updateNonExistingUserReturningNull_LeavesStoreEmpty() {
+        dao.update(UserProfileFixtures.NON_EXISTING_USER_ID, userProfile -> null);
+
+        assertThat(dao.get(UserProfileFixtures.NON_EXISTING_USER_ID)).isEmpty();
+        assertThat(dao.size()).isZero();
+    }
+
+    @Test
+    void updateExistingUserReturningNull_RemovesProfile() {
+        dao.put(profile(UserProfileFixtures.USER_ID, 1));
+        dao.put(profile(UserId.valueOf("other"), 2));
+
+        dao.update(UserProfileFixtures.USER_ID, userProfile -> null);
+
+        assertThat(dao.get(UserProfileFixtures.USER_ID)).isEmpty();
+        assertThat(gold(UserId.valueOf("other"))).isEqualTo(UserProfilePropertyValue.valueOf(2));
+        assertThat(dao.size()).isEqualTo(1);
+    }
+
+    @Test
+    void updateReturningProfileItReceived_WritesNothing() {
+        dao.put(profile(UserProfileFixtures.USER_ID, 1));
+        long usedBytes = dao.usedBytes();
+
+        dao.update(UserProfileFixtures.USER_ID, userProfile -> userProfile);
+
+        assertThat(dao.usedBytes()).isEqualTo(usedBytes);
+        assertThat(gold(UserProfileFixtures.USER_ID)).isEqualTo(UserProfilePropertyValue.valueOf(1));
+    }
+
+    @Test
+    void updateExistingUser_OperatorReceivesStoredProfile() {
+        dao.put(profile(UserProfileFixtures.USER_ID, 1));
+
+        dao.update(UserProfileFixtures.USER_ID, userProfile -> {
+            assertThat(userProfile.userProfileProperties()).containsEntry(GOLD, UserProfilePropertyValue.valueOf(1));
+            return profile(UserProfileFixtures.USER_ID, 2);
+        });
+
+        assertThat(gold(UserProfileFixtures.USER_ID)).isEqualTo(UserProfilePropertyValue.valueOf(2));
+        assertThat(dao.size()).isEqualTo(1);
+    }
+
+    @Test
+    void manyUsers_AreFoundAfterIndexGrows() {
+        IntStream.range(0, 100_000).forEach(i -> dao.put(profile(UserId.valueOf("user-" + i), i)));
+
+        assertThat(dao.size()).isEqualTo(100_000);
+        assertThat(gold(UserId.valueOf("user-0"))).isEqualTo(UserProfilePropertyValue.valueOf(0));
+        assertThat(gold(UserId.valueOf("user-99999"))).isEqualTo(UserProfilePropertyValue.valueOf(99_999));
+    }
+
+    @Test
+    void repeatedUpdates_AreCompacted() {
+        for (int i = 0; i < 10_000; i++) {
+            dao.put(profile(UserProfileFixtures.USER_ID, i));
+        }
+
+        assertThat(gold(UserProfileFixtures.USER_ID)).isEqualTo(UserProfilePropertyValue.valueOf(9_999));
+        assertThat(dao.usedBytes()).isLessThanOrEqualTo(2L * CHUNK_SIZE);
+        assertThat(dao.allocatedBytes()).isLessThanOrEqualTo(2L * CHUNK_SIZE);
+    }
+
+    @Test
+    void compaction_KeepsEveryLiveProfile() {
+        IntStream.range(0, 1_000).forEach(i -> dao.put(profile(UserId.valueOf("user-" + i), i)));
+        IntStream.range(0, 1_000).filter(i -> i % 2 == 0).forEach(i -> dao.update(UserId.valueOf("user-" + i), userProfile -> null));
+        long allocatedBytes = dao.allocatedBytes();
+        for (int round = 1; round <= 3; round++) {
+            int gold = round;
+            IntStream.range(0, 1_000).filter(i -> i % 2 == 1).forEach(i -> dao.put(profile(UserId.valueOf("user-" + i), i + gold)));
+        }
+
+        assertThat(dao.size()).isEqualTo(500);
+        assertThat(dao.allocatedBytes()).isLessThanOrEqualTo(allocatedBytes + CHUNK_SIZE);
+        assertThat(dao.get(UserId.valueOf("user-0"))).isEmpty();
+        assertThat(gold(UserId.valueOf("user-1"))).isEqualTo(UserProfilePropertyValue.valueOf(4));
+        assertThat(gold(UserId.valueOf("user-999"))).isEqualTo(UserProfilePropertyValue.valueOf(1_002));
+    }
+
+    @Test
+    void concurrentUpdatesOfSameUser_AreNotLost() {
+        Runnable increments = () -> IntStream.range(0, 500).forEach(i -> dao.update(UserProfileFixtures.USER_ID, userProfile -> {
+            long gold = userProfile == null ? 0 : ((LongValue) userProfile.userProfileProperties().get(GOLD)).longValue();
+            return profile(UserProfileFixtures.USER_ID, gold + 1);
+        }));
+        List<CompletableFuture<Void>> futures = IntStream.range(0, 8).mapToObj(thread -> CompletableFuture.runAsync(increments)).toList();
+        futures.forEach(CompletableFuture::join);
+
+        assertThat(gold(UserProfileFixtures.USER_ID)).isEqualTo(UserProfilePropertyValue.valueOf(4_000));
+    }
+
+    @Test
+    void getAll_ReturnsProfilesInOrderOfIds() {
+        IntStream.range(0, 100).filter(i -> i % 3 != 0).forEach(i -> dao.put(profile(UserId.valueOf("user-" + i), i)));
+        List<UserId> userIds = IntStream.range(0, 100).mapToObj(i -> UserId.valueOf("user-" + (99 - i))).toList();
+
+        var userProfiles = dao.getAll(userIds).toList();
+
+        assertThat(userProfiles).hasSize(100);
+        for (int i = 0; i < 100; i++) {
+            int user = 99 - i;
+            assertThat(userProfiles.get(i).map(UserProfile::userId))
+                    .isEqualTo(user % 3 == 0 ? Optional.empty() : Optional.of(UserId.valueOf("user-" + user)));
+        }
+    }
+
+    @Test
+    void forEach_VisitsEveryStoredProfile() {
+        dao.put(profile(UserId.valueOf("first"), 1));
+        dao.put(profile(UserId.valueOf("second"), 2));
+        var visited = new ArrayList<UserId>();
+
+        dao.forEach(userProfile -> visited.add(userProfile.userId()));
+
+        assertThat(visited).containsExactlyInAnyOrder(UserId.valueOf("first"), UserId.valueOf("second"));
+    }
+
+    @Test
+    void profileLargerThanChunk_ThrowsException() {
+        var properties = new HashMap<UserProfilePropertyName, UserProfilePropertyValue>();
+        IntStream.range(0, 1000)
+                .forEach(i -> properties.put(UserProfilePropertyName.valueOf("property" + i), UserProfilePropertyValue.valueOf(i)));
+        var userProfile = new UserProfile(UserProfileFixtures.USER_ID, UserProfileFixtures.LAST_UPDATE_TIMESTAMP, properties);
+
+        assertThatThrownBy(() -> dao.put(userProfile)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private UserProfilePropertyValue gold(UserId userId) {
+        return dao.get(userId).orElseThrow().userProfileProperties().get(GOLD);
+    }
+
+    private static UserProfile profile(UserId userId, long gold) {
+        return new UserProfile(userId, UserProfileFixtures.LAST_UPDATE_TIMESTAMP, Map.of(GOLD, UserProfilePropertyValue.valueOf(gold)));
+    }
+}
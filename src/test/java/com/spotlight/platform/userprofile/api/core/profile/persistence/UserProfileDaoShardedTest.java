@@ -0,0 +1,212 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence;
+
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue.LongValue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures.USER_PROFILE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class UserProfileDaoShardedTest {
+    private static final UserProfilePropertyName GOLD = UserProfilePropertyName.valueOf("gold");
+
+    private final UserProfileDaoSharded dao = new UserProfileDaoSharded(4);
+
+    @BeforeEach
+    void startDao() {
+        dao.start();
+    }
+
+    @AfterEach
+    void stopDao() throws InterruptedException {
+        dao.stop();
+    }
+
+    @Test
+    void getNonExistingUser_OptionalEmptyReturned() {
+        assertThat(dao.get(UserProfileFixtures.NON_EXISTING_USER_ID)).isEmpty();
+    }
+
+    @Test
+    void putAndGetUser_ReturnsCorrectValues() {
+        dao.put(USER_PROFILE);
+
+        assertThat(dao.get(UserProfileFixtures.USER_ID)).containsSame(USER_PROFILE);
+    }
+
+    @Test
+    void updateNonExistingUser_OperatorReceivesNullAndResultIsStored() {
+        var stored = dao.update(UserProfileFixtures.NON_EXISTING_USER_ID, userProfile -> {
+            assertThat(userProfile).isNull();
+            return USER_PROFILE;
+        });
+
+        assertThat(stored).isSameAs(USER_PROFILE);
+        assertThat(dao.get(UserProfileFixtures.NON_EXISTING_USER_ID)).containsSame(USER_PROFILE);
+    }
+
+    @Test
+    void updateExistingUser_OperatorRunsOnShardWriter() {
+        dao.put(USER_PROFILE);
+
+        dao.update(UserProfileFixtures.USER_ID, userProfile -> {
+            assertThat(userProfile).isSameAs(USER_PROFILE);
+            assertThat(Thread.currentThread().getName()).startsWith("profile-shard-");
+            return userProfile;
+        });
+    }
+
+    @Test
+    void updateThrowing_ExceptionReachesCallerUnwrapped() {
+        assertThatThrownBy(() -> dao.update(UserProfileFixtures.USER_ID, userProfile -> {
+            throw new ArithmeticException("long overflow");
+        })).isExactlyInstanceOf(ArithmeticException.class).hasMessage("long overflow");
+        assertThat(dao.get(UserProfileFixtures.USER_ID)).isEmpty();
+    }
+
+    @Test
+    void nestedUpdateOnWriter_RunsRightAway() {
+        dao.update(UserProfileFixtures.USER_ID, userProfile -> {
+            dao.put(profile(UserProfileFixtures.USER_ID, 1));
+            return profile(UserProfileFixtures.USER_ID, 2);
+        });
+
+        assertThat(gold(UserProfileFixtures.USER_ID)).isEqualTo(UserProfilePropertyValue.valueOf(2));
+    }
+
+    @Test
+    void concurrentUpdatesOfSameUser_AreNotLost() {
+        Runnable increments = () -> IntStream.range(0, 500).forEach(i -> dao.update(UserProfileFixtures.USER_ID, userProfile -> {
+            long gold = userProfile == null ? 0 : ((LongValue) userProfile.userProfileProperties().get(GOLD)).longValue();
+            return profile(UserProfileFixtures.USER_ID, gold + 1);
+        }));
+        List<CompletableFuture<Void>> futures = IntStream.range(0, 8).mapToObj(thread -> CompletableFuture.runAsync(increments)).toList();
+        futures.forEach(CompletableFuture::join);
+
+        assertThat(gold(UserProfileFixtures.USER_ID)).isEqualTo(UserProfilePropertyValue.valueOf(4_000));
+    }
+
+    @Test
+    void getAll_ReturnsProfilesInOrderOfIds() {
+        IntStream.range(0, 100).filter(i -> i % 3 != 0).forEach(i -> dao.put(profile(UserId.valueOf("user-" + i), i)));
+        List<UserId> userIds = IntStream.range(0, 100).mapToObj(i -> UserId.valueOf("user-" + (99 - i))).toList();
+
+        var userProfiles = dao.getAll(userIds).toList();
+
+        assertThat(userProfiles).hasSize(100);
+        for (int i = 0; i < 100; i++) {
+            int user = 99 - i;
+            assertThat(userProfiles.get(i).map(UserProfile::userId))
+                    .isEqualTo(user % 3 == 0 ? Optional.empty() : Optional.of(UserId.valueOf("user-" + user)));
+        }
+    }
+
+    @Test
+    void forEach_VisitsEveryStoredProfile() {
+        IntStream.range(0, 100).forEach(i -> dao.put(profile(UserId.valueOf("user-" + i), i)));
+        var visited = new ArrayList<UserId>();
+
+        dao.forEach(userProfile -> visited.add(userProfile.userId()));
+
+        assertThat(visited).hasSize(100).contains(UserId.valueOf("user-0"), UserId.valueOf("user-99"));
+    }
+
+    @Test
+    void forEach_DoesNotBlockUpdatesOfTheShard() {
+        dao.put(USER_PROFILE);
+        var updated = profile(UserProfileFixtures.USER_ID, 1);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> dao.forEach(userProfile -> {
+            assertThat(Thread.currentThread().getName()).doesNotStartWith("profile-shard-");
+            CompletableFuture.runAsync(() -> dao.put(updated)).join();
+        }));
+        assertThat(dao.get(UserProfileFixtures.USER_ID)).containsSame(updated);
+    }
+
+    @Test
+    void updateAfterStop_ThrowsException() throws InterruptedException {
+        dao.put(USER_PROFILE);
+        dao.stop();
+
+        assertThatThrownBy(() -> dao.put(USER_PROFILE)).isInstanceOf(IllegalStateException.class);
+        assertThat(dao.get(UserProfileFixtures.USER_ID)).containsSame(USER_PROFILE);
+    }
+
+    @Test
+    void updateBeforeStart_ThrowsException() {
+        var notStarted = new UserProfileDaoSharded(1);
+
+        assertThatThrownBy(() -> notStarted.put(USER_PROFILE)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void updatesRacingStop_AreEitherAppliedOrRejected() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            ExecutorService callers = Executors.newFixedThreadPool(8);
+            try {
+                for (int round = 0; round < 20; round++) {
+                    var racedDao = new UserProfileDaoSharded(1);
+                    racedDao.start();
+                    var running = new CountDownLatch(8);
+                    List<CompletableFuture<Long>> futures = IntStream.range(0, 8)
+                            .mapToObj(thread -> CompletableFuture.supplyAsync(() -> incrementUntilRejected(racedDao, running), callers))
+                            .toList();
+                    running.await();
+                    racedDao.stop();
+
+                    long applied = futures.stream().mapToLong(CompletableFuture::join).sum();
+                    long gold = racedDao.get(UserProfileFixtures.USER_ID)
+                            .map(userProfile -> ((LongValue) userProfile.userProfileProperties().get(GOLD)).longValue())
+                            .orElse(0L);
+                    assertThat(gold).isEqualTo(applied);
+                }
+            } finally {
+                callers.shutdownNow();
+            }
+        });
+    }
+
+    private static long incrementUntilRejected(UserProfileDaoSharded racedDao, CountDownLatch running) {
+        long applied = 0;
+        running.countDown();
+        try {
+            while (true) {
+                racedDao.update(UserProfileFixtures.USER_ID, userProfile -> {
+                    long gold = userProfile == null ? 0 : ((LongValue) userProfile.userProfileProperties().get(GOLD)).longValue();
+                    return profile(UserProfileFixtures.USER_ID, gold + 1);
+                });
+                applied++;
+            }
+        } catch (IllegalStateException e) {
+            return applied;
+        }
+    }
+
+    private UserProfilePropertyValue gold(UserId userId) {
+        return dao.get(userId).orElseThrow().userProfileProperties().get(GOLD);
+    }
+
+    private static UserProfile profile(UserId userId, long gold) {
+        return new UserProfile(userId, UserProfileFixtures.LAST_UPDATE_TIMESTAMP, Map.of(GOLD, UserProfilePropertyValue.valueOf(gold)));
+    }
+}
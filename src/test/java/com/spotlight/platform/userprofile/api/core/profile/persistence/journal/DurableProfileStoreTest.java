@@ -0,0 +1,152 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.journal;
+
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.core.profile.CommandDeduplicator;
+import com.spotlight.platform.userprofile.api.core.profile.UserProfileService;
+import com.spotlight.platform.userprofile.api.core.profile.commands.CommandHandlerFixtures;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDaoInMemory;
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DurableProfileStoreTest {
+    private static final UserId USER_ID = UserId.valueOf("user");
+    private static final UserProfilePropertyName GOLD = UserProfilePropertyName.valueOf("gold");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void restart_recoversProfilesFromJournal() throws Exception {
+        var running = start();
+        running.service.processCommands(command(UserProfileCommand.CommandType.REPLACE, 10));
+        running.service.processCommands(command(UserProfileCommand.CommandType.INCREMENT, 5));
+        running.store.stop();
+
+        var restarted = start();
+
+        assertThat(gold(restarted.dao)).isEqualTo(UserProfilePropertyValue.valueOf(15));
+        assertThat(restarted.dao.get(USER_ID).map(UserProfile::version)).contains(2L);
+        restarted.store.stop();
+    }
+
+    @Test
+    void restart_recoversProfilesFromSnapshotAndJournalTail() throws Exception {
+        var running = start();
+        running.service.processCommands(command(UserProfileCommand.CommandType.REPLACE, 10));
+        running.store.snapshot();
+        running.service.processCommands(command(UserProfileCommand.CommandType.INCREMENT, 5));
+        running.store.stop();
+
+        var restarted = start();
+
+        assertThat(gold(restarted.dao)).isEqualTo(UserProfilePropertyValue.valueOf(15));
+        restarted.store.stop();
+    }
+
+    @Test
+    void snapshot_deletesCoveredSegmentsAndSnapshots() throws Exception {
+        var running = start();
+        running.service.processCommands(command(UserProfileCommand.CommandType.REPLACE, 10));
+        running.store.snapshot();
+        running.service.processCommands(command(UserProfileCommand.CommandType.INCREMENT, 5));
+        running.store.snapshot();
+        running.store.stop();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.map(path -> path.getFileName().toString())).containsExactlyInAnyOrder(
+                    "snapshot-00000000000000000002.json", "00000000000000000002.wal");
+        }
+    }
+
+    @Test
+    void commandTheDaoFailedToStore_isNotReplayed() throws Exception {
+        var failingDao = new UserProfileDaoInMemory() {
+            @Override
+            public UserProfile update(UserId userId, UnaryOperator<UserProfile> operator) {
+                operator.apply(null);
+                throw new IllegalStateException("Profile does not fit");
+            }
+        };
+        var running = start(failingDao);
+        assertThatThrownBy(() -> running.service.processCommands(command(UserProfileCommand.CommandType.REPLACE, 10)))
+                .isInstanceOf(IllegalStateException.class);
+        running.store.stop();
+
+        var restarted = start();
+
+        assertThat(restarted.dao.get(USER_ID)).isEmpty();
+        restarted.store.stop();
+    }
+
+    @Test
+    void entriesOutOfVersionOrder_areReplayedInVersionOrder() throws Exception {
+        var log = new WriteAheadLog(directory, 4096, Duration.ZERO, JsonMapper.getInstance());
+        log.open();
+        log.append(new UserProfile(USER_ID, Instant.EPOCH, Map.of(), 2), command(UserProfileCommand.CommandType.INCREMENT, 5));
+        log.append(new UserProfile(USER_ID, Instant.EPOCH, Map.of(), 1), command(UserProfileCommand.CommandType.REPLACE, 10));
+        log.close();
+
+        var restarted = start();
+
+        assertThat(gold(restarted.dao)).isEqualTo(UserProfilePropertyValue.valueOf(15));
+        assertThat(restarted.dao.get(USER_ID).map(UserProfile::version)).contains(2L);
+        restarted.store.stop();
+    }
+
+    @Test
+    void replayOfAlreadySnapshottedCommand_isSkipped() throws Exception {
+        var running = start();
+        running.service.processCommands(command(UserProfileCommand.CommandType.INCREMENT, 5));
+        var profile = running.dao.get(USER_ID).orElseThrow();
+
+        running.service.replay(command(UserProfileCommand.CommandType.INCREMENT, 5), profile.version(), profile.latestUpdateTime());
+
+        assertThat(gold(running.dao)).isEqualTo(UserProfilePropertyValue.valueOf(5));
+        running.store.stop();
+    }
+
+    private Running start() throws Exception {
+        return start(new UserProfileDaoInMemory());
+    }
+
+    private Running start(UserProfileDao dao) throws Exception {
+        var log = new WriteAheadLog(directory, 4096, Duration.ZERO, JsonMapper.getInstance());
+        var service = new UserProfileService(dao, CommandHandlerFixtures.COMMAND_HANDLER_REGISTRY, log, ForkJoinPool.commonPool(),
+                CommandDeduplicator.NONE);
+        var store = new DurableProfileStore(dao, service, log, new ProfileSnapshots(directory, JsonMapper.getInstance()),
+                Duration.ofHours(1));
+        store.start();
+        return new Running(dao, service, store);
+    }
+
+    private static UserProfileCommand command(UserProfileCommand.CommandType type, int gold) {
+        return new UserProfileCommand(USER_ID, type, Map.of(GOLD.toString(), gold));
+    }
+
+    private static UserProfilePropertyValue gold(UserProfileDao dao) {
+        return dao.get(USER_ID).orElseThrow().userProfileProperties().get(GOLD);
+    }
+
+    private record Running(UserProfileDao dao, UserProfileService service, DurableProfileStore store) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.journal;
+
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDaoInMemory;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProfileSnapshotsTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void noSnapshot_latestIsEmpty() throws IOException {
+        assertThat(new ProfileSnapshots(directory.resolve("missing"), JsonMapper.getInstance()).latest()).isEmpty();
+    }
+
+    @Test
+    void writtenSnapshot_isReadBackWithVersion() throws IOException {
+        var snapshots = new ProfileSnapshots(directory, JsonMapper.getInstance());
+        var dao = new UserProfileDaoInMemory();
+        dao.put(UserProfileFixtures.USER_PROFILE.nextVersion(UserProfileFixtures.LAST_UPDATE_TIMESTAMP));
+        snapshots.write(3, dao);
+        snapshots.write(5, dao);
+        snapshots.deleteBefore(5);
+
+        var profiles = new ArrayList<UserProfile>();
+        snapshots.read(snapshots.latest().orElseThrow(), entry -> profiles.add(entry.toUserProfile()));
+
+        assertThat(snapshots.latest()).contains(5L);
+        assertThat(profiles).singleElement().satisfies(profile -> {
+            assertThat(profile.version()).isEqualTo(1);
+            assertThat(profile.userId()).isEqualTo(UserProfileFixtures.USER_ID);
+            assertThat(profile.userProfileProperties()).isEqualTo(UserProfileFixtures.USER_PROFILE.userProfileProperties());
+        });
+    }
+}
@@ -0,0 +1,180 @@
+package com.spotlight.platform.userprofile.api.core.profile.persistence.journal;
+
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class WriteAheadLogTest {
+    private static final int SEGMENT_SIZE = 4096;
+    private static final UserId USER_ID = UserId.valueOf("user");
+    private static final Instant UPDATE_TIME = Instant.parse("2022-01-01T10:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendedEntries_areReplayedInOrder() throws IOException {
+        try (var log = openLog(Duration.ZERO)) {
+            log.append(profile(1), command(1));
+            log.append(profile(2), command(2));
+        }
+
+        assertThat(replay(0)).extracting(JournalEntry::version).containsExactly(1L, 2L);
+        assertThat(replay(0).get(1).command().getProperties()).isEqualTo(Map.of("gold", 2));
+        assertThat(replay(0).get(1).updateTime()).isEqualTo(UPDATE_TIME);
+    }
+
+    @Test
+    void groupCommit_updateReturnsOnceFlusherForcedItsEntries() throws IOException {
+        long openedAt = System.nanoTime();
+        try (var log = openLog(Duration.ofMillis(200))) {
+            log.append(profile(1), command(1));
+
+            assertThat(Duration.ofNanos(System.nanoTime() - openedAt)).isGreaterThanOrEqualTo(Duration.ofMillis(200));
+            assertThat(replay(0)).extracting(JournalEntry::version).containsExactly(1L);
+        }
+    }
+
+    @Test
+    void failingUpdate_journalsNothing() throws IOException {
+        try (var log = openLog(Duration.ZERO)) {
+            assertThatThrownBy(() -> log.update(recorder -> {
+                recorder.append(profile(1), command(1));
+                throw new IllegalStateException("Profile store is stopped");
+            })).isInstanceOf(IllegalStateException.class);
+            log.append(profile(2), command(2));
+        }
+
+        assertThat(replay(0)).extracting(JournalEntry::version).containsExactly(2L);
+    }
+
+    @Test
+    void fullSegment_continuesInNextSegment() throws IOException {
+        try (var log = openLog(Duration.ZERO)) {
+            for (int version = 1; version <= 100; version++) {
+                log.append(profile(version), command(version));
+            }
+        }
+
+        assertThat(segmentCount()).isGreaterThan(1);
+        assertThat(replay(0)).hasSize(100);
+    }
+
+    @Test
+    void rotate_replayFromReturnedSegmentSkipsEarlierEntries() throws IOException {
+        try (var log = openLog(Duration.ZERO)) {
+            log.append(profile(1), command(1));
+            long segment = log.rotate();
+            log.append(profile(2), command(2));
+            log.deleteSegmentsBefore(segment);
+
+            assertThat(segmentCount()).isEqualTo(1);
+            assertThat(replay(segment)).extracting(JournalEntry::version).containsExactly(2L);
+        }
+    }
+
+    @Test
+    void reopenedLog_appendsToNewSegment() throws IOException {
+        try (var log = openLog(Duration.ZERO)) {
+            log.append(profile(1), command(1));
+        }
+        try (var log = openLog(Duration.ZERO)) {
+            log.append(profile(2), command(2));
+        }
+
+        assertThat(segmentCount()).isEqualTo(2);
+        assertThat(replay(0)).extracting(JournalEntry::version).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void tornRecord_endsReplayOfSegment() throws IOException {
+        try (var log = openLog(Duration.ZERO)) {
+            log.append(profile(1), command(1));
+            log.append(profile(2), command(2));
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (var file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(2 * Integer.BYTES);
+            file.write('x');
+        }
+
+        assertThat(replay(0)).isEmpty();
+    }
+
+    @Test
+    void failingForce_failsWaitingAndLaterUpdates() throws IOException {
+        var log = new WriteAheadLog(directory, SEGMENT_SIZE, Duration.ofMillis(10), JsonMapper.getInstance()) {
+            @Override
+            void force(MappedByteBuffer segment) {
+                throw new UncheckedIOException(new IOException("Disk failed"));
+            }
+        };
+        log.open();
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                assertThatThrownBy(() -> log.append(profile(1), command(1))).isInstanceOf(IllegalStateException.class)
+                        .hasRootCauseMessage("Disk failed");
+                assertThatThrownBy(() -> log.append(profile(2), command(2))).isInstanceOf(IllegalStateException.class);
+            });
+        } finally {
+            log.close();
+        }
+    }
+
+    @Test
+    void appendWithoutOpen_throwsException() {
+        var log = new WriteAheadLog(directory, SEGMENT_SIZE, Duration.ZERO, JsonMapper.getInstance());
+
+        assertThatThrownBy(() -> log.append(profile(1), command(1))).isInstanceOf(IllegalStateException.class);
+    }
+
+    private WriteAheadLog openLog(Duration fsyncInterval) throws IOException {
+        var log = new WriteAheadLog(directory, SEGMENT_SIZE, fsyncInterval, JsonMapper.getInstance());
+        log.open();
+        return log;
+    }
+
+    private List<JournalEntry> replay(long fromSegment) throws IOException {
+        var entries = new ArrayList<JournalEntry>();
+        new WriteAheadLog(directory, SEGMENT_SIZE, Duration.ZERO, JsonMapper.getInstance()).replay(fromSegment, entries::add);
+        return entries;
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static UserProfile profile(long version) {
+        return new UserProfile(USER_ID, UPDATE_TIME, Map.of(), version);
+    }
+
+    private static UserProfileCommand command(int gold) {
+        return new UserProfileCommand(USER_ID, UserProfileCommand.CommandType.REPLACE, Map.of("gold", gold));
+    }
+}
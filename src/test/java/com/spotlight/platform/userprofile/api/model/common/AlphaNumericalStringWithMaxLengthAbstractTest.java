@@ -19,6 +19,7 @@ public abstract class AlphaNumericalStringWithMaxLengthAbstractTest<T> {
         var violations = validator.validate(getInstance("some-value"));
 
         assertThat(violations).isEmpty();
+        assertThat(AlphaNumericalStringWithMaxLength.isValidValue("some-value")).isTrue();
     }
 
     @Test
@@ -26,6 +27,7 @@ public abstract class AlphaNumericalStringWithMaxLengthAbstractTest<T> {
         var violations = validator.validate(getInstance(""));
 
         assertThat(violations).extracting(ConstraintViolation::getMessage).containsExactly("length must be between 1 and 1024");
+        assertThat(AlphaNumericalStringWithMaxLength.isValidValue("")).isFalse();
     }
 
     @Test
@@ -33,6 +35,7 @@ public abstract class AlphaNumericalStringWithMaxLengthAbstractTest<T> {
         var violations = validator.validate(getInstance("a".repeat(2000)));
 
         assertThat(violations).extracting(ConstraintViolation::getMessage).containsExactly("length must be between 1 and 1024");
+        assertThat(AlphaNumericalStringWithMaxLength.isValidValue("a".repeat(2000))).isFalse();
     }
 
     @Test
@@ -40,6 +43,7 @@ public abstract class AlphaNumericalStringWithMaxLengthAbstractTest<T> {
         var violations = validator.validate(getInstance("ö"));
 
         assertThat(violations).extracting(ConstraintViolation::getMessage).contains("must match \"[A-Za-z0-9_-]*\"");
+        assertThat(AlphaNumericalStringWithMaxLength.isValidValue("ö")).isFalse();
     }
 
     @Test
@@ -47,5 +51,6 @@ public abstract class AlphaNumericalStringWithMaxLengthAbstractTest<T> {
         var violations = validator.validate(getInstance("$"));
 
         assertThat(violations).extracting(ConstraintViolation::getMessage).contains("must match \"[A-Za-z0-9_-]*\"");
+        assertThat(AlphaNumericalStringWithMaxLength.isValidValue("$")).isFalse();
     }
 }
\ No newline at end of file
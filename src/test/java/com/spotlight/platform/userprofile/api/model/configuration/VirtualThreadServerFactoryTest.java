@@ -0,0 +1,94 @@
+package com.spotlight.platform.userprofile.api.model.configuration;
+
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.server.DefaultServerFactory;
+import io.dropwizard.server.ServerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadServerFactoryTest {
+
+    private static final ObjectMapper CONFIGURATION_MAPPER = Jackson.newObjectMapper();
+
+    @Test
+    void serverType_selectsVirtualThreadServerFactory() throws Exception {
+        var serverFactory = CONFIGURATION_MAPPER.readValue("{\"type\": \"virtual-threads\"}", ServerFactory.class);
+
+        assertThat(serverFactory).isInstanceOf(VirtualThreadServerFactory.class);
+    }
+
+    @Test
+    void threadPool_runsTasksOnVirtualThreads() throws Exception {
+        var threadPool = (VirtualThreadServerFactory.VirtualThreadPool) new VirtualThreadServerFactory().createThreadPool(
+                new MetricRegistry());
+        var thread = new CompletableFuture<Thread>();
+        threadPool.start();
+        try {
+            threadPool.execute(() -> thread.complete(Thread.currentThread()));
+
+            assertThat(threadPool.getName()).isEqualTo("dw-virtual");
+            assertThat(thread.get(10, TimeUnit.SECONDS).isVirtual()).isTrue();
+            assertThat(thread.get().getName()).startsWith("dw-virtual-");
+            assertThat(threadPool.getIdleThreads()).isZero();
+        } finally {
+            threadPool.stop();
+        }
+        threadPool.join();
+    }
+
+    @Test
+    void threadPool_isNotCappedByMaxThreads() throws Exception {
+        var serverFactory = new VirtualThreadServerFactory();
+        serverFactory.setMaxThreads(8);
+        var threadPool = (VirtualThreadServerFactory.VirtualThreadPool) serverFactory.createThreadPool(new MetricRegistry());
+        int tasks = 1_000;
+        var started = new CountDownLatch(tasks);
+        var release = new CountDownLatch(1);
+        threadPool.start();
+        try {
+            for (int i = 0; i < tasks; i++) {
+                assertThat(threadPool.tryExecute(() -> {
+                    started.countDown();
+                    awaitQuietly(release);
+                })).isTrue();
+            }
+
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(threadPool.getThreads()).isEqualTo(tasks);
+            assertThat(threadPool.isLowOnThreads()).isFalse();
+        } finally {
+            release.countDown();
+            threadPool.stop();
+        }
+        assertThat(threadPool.getThreads()).isZero();
+    }
+
+    @Test
+    void virtualThreads_followServerFactory() {
+        var configuration = new UserProfileApiConfiguration();
+        assertThat(configuration.isVirtualThreads()).isFalse();
+
+        configuration.setServerFactory(new VirtualThreadServerFactory());
+        assertThat(configuration.isVirtualThreads()).isTrue();
+
+        configuration.setServerFactory(new DefaultServerFactory());
+        assertThat(configuration.isVirtualThreads()).isFalse();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.spotlight.platform.userprofile.api.model.profile;
+
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue.LongValue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactPropertyMapTest {
+    private static final UserProfilePropertyName GOLD = UserProfilePropertyName.valueOf("currentGold");
+    private static final UserProfilePropertyName GEMS = UserProfilePropertyName.valueOf("currentGems");
+    private static final UserProfilePropertyName INVENTORY = UserProfilePropertyName.valueOf("inventory");
+    private static final UserProfilePropertyName INVALID = UserProfilePropertyName.valueOf("current gold");
+
+    @Test
+    void editAndBuild_ReturnsValues() {
+        var editor = CompactPropertyMap.edit(CompactPropertyMap.EMPTY);
+        editor.put(GOLD, UserProfilePropertyValue.valueOf(1));
+        editor.put(GEMS, UserProfilePropertyValue.valueOf(2));
+
+        assertThat(editor.build()).hasSize(2)
+                .containsEntry(GOLD, UserProfilePropertyValue.valueOf(1))
+                .containsEntry(GEMS, UserProfilePropertyValue.valueOf(2))
+                .doesNotContainKey(UserProfilePropertyName.valueOf("currentSilver"));
+    }
+
+    @Test
+    void putExistingKey_ReplacesValue() {
+        var editor = CompactPropertyMap.edit(Map.of(GOLD, UserProfilePropertyValue.valueOf(1)));
+
+        assertThat(editor.put(GOLD, UserProfilePropertyValue.valueOf(2))).isEqualTo(UserProfilePropertyValue.valueOf(1));
+        assertThat(editor.build()).hasSize(1).containsEntry(GOLD, UserProfilePropertyValue.valueOf(2));
+    }
+
+    @Test
+    void builtMap_IsImmutable() {
+        var properties = CompactPropertyMap.copyOf(Map.of(GOLD, UserProfilePropertyValue.valueOf(1)));
+
+        assertThatThrownBy(() -> properties.put(GEMS, UserProfilePropertyValue.valueOf(2))).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> properties.remove(GOLD)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void inPlaceChangesOfEditedValues_DoNotReachBaseMap() {
+        var base = CompactPropertyMap.copyOf(Map.of(GOLD, UserProfilePropertyValue.valueOf(1),
+                INVENTORY, UserProfilePropertyValue.valueOf(List.of("sword1"))));
+        var editor = CompactPropertyMap.edit(base);
+
+        ((LongValue) editor.get(GOLD)).add(10);
+        ((UserProfilePropertyValue.CollectionValue) editor.get(INVENTORY)).addAll(List.of("shield1"));
+        var edited = editor.build();
+
+        assertThat(base).containsEntry(GOLD, UserProfilePropertyValue.valueOf(1))
+                .containsEntry(INVENTORY, UserProfilePropertyValue.valueOf(List.of("sword1")));
+        assertThat(edited).containsEntry(GOLD, UserProfilePropertyValue.valueOf(11))
+                .containsEntry(INVENTORY, UserProfilePropertyValue.valueOf(List.of("sword1", "shield1")));
+    }
+
+    @Test
+    void untouchedValues_AreSharedWithBaseMap() {
+        var base = CompactPropertyMap.copyOf(Map.of(GOLD, UserProfilePropertyValue.valueOf(1), GEMS, UserProfilePropertyValue.valueOf(2)));
+        var editor = CompactPropertyMap.edit(base);
+
+        editor.put(GOLD, UserProfilePropertyValue.valueOf(3));
+
+        assertThat(editor.build().get(GEMS)).isSameAs(base.get(GEMS));
+        assertThat(CompactPropertyMap.edit(base).build()).isEqualTo(base);
+    }
+
+    @Test
+    void editingAfterBuild_DoesNotChangeBuiltMap() {
+        var editor = CompactPropertyMap.edit(Map.of(GOLD, UserProfilePropertyValue.valueOf(1)));
+        var first = editor.build();
+
+        ((LongValue) editor.get(GOLD)).add(1);
+        editor.put(GEMS, UserProfilePropertyValue.valueOf(2));
+
+        assertThat(first).containsOnly(Map.entry(GOLD, UserProfilePropertyValue.valueOf(1)));
+        assertThat(editor.build()).containsEntry(GOLD, UserProfilePropertyValue.valueOf(2)).containsKey(GEMS);
+    }
+
+    @Test
+    void namesWithoutId_AreSupported() {
+        var editor = CompactPropertyMap.edit(Map.of(GOLD, UserProfilePropertyValue.valueOf(1)));
+        editor.put(INVALID, UserProfilePropertyValue.valueOf(2));
+
+        assertThat(editor.get(UserProfilePropertyName.valueOf("current gold"))).isEqualTo(UserProfilePropertyValue.valueOf(2));
+        assertThat(editor.remove(INVALID)).isEqualTo(UserProfilePropertyValue.valueOf(2));
+        assertThat(editor.build()).containsOnlyKeys(GOLD);
+    }
+
+    @Test
+    void remove_DropsOnlyThatKey() {
+        var editor = CompactPropertyMap.edit(CompactPropertyMap.EMPTY);
+        IntStream.range(0, 10)
+                .forEach(i -> editor.put(UserProfilePropertyName.valueOf("property" + i), UserProfilePropertyValue.valueOf(i)));
+
+        editor.remove(UserProfilePropertyName.valueOf("property5"));
+
+        assertThat(editor.build()).hasSize(9).doesNotContainKey(UserProfilePropertyName.valueOf("property5"))
+                .containsEntry(UserProfilePropertyName.valueOf("property9"), UserProfilePropertyValue.valueOf(9));
+        assertThat(editor.remove(UserProfilePropertyName.valueOf("property5"))).isNull();
+    }
+
+    @Test
+    void clear_RemovesAllEntries() {
+        var editor = CompactPropertyMap.edit(Map.of(GOLD, UserProfilePropertyValue.valueOf(1)));
+
+        editor.clear();
+
+        assertThat(editor.build()).isEmpty();
+    }
+
+    @Test
+    void copy_EqualsSourceMap() {
+        var source = new HashMap<UserProfilePropertyName, UserProfilePropertyValue>();
+        IntStream.range(0, 10)
+                .forEach(i -> source.put(UserProfilePropertyName.valueOf("copied" + i), UserProfilePropertyValue.valueOf(i)));
+        source.put(INVALID, UserProfilePropertyValue.valueOf("invalid"));
+
+        assertThat(CompactPropertyMap.copyOf(source)).isEqualTo(source);
+    }
+
+    @Test
+    void serialization_KeepsProfileJsonShape() {
+        var userProfile = UserProfileFixtures.USER_PROFILE;
+        var compact = new UserProfile(userProfile.userId(), userProfile.latestUpdateTime(),
+                CompactPropertyMap.copyOf(userProfile.userProfileProperties()));
+
+        assertThatJson(compact).isEqualTo(UserProfileFixtures.SERIALIZED_USER_PROFILE);
+        assertThat(compact.userProfileProperties()).isEqualTo(Map.copyOf(userProfile.userProfileProperties()));
+    }
+}
@@ -0,0 +1,65 @@
+package com.spotlight.platform.userprofile.api.model.profile.primitives;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserProfilePropertyNamesTest {
+
+    @Test
+    void validName_isInternedWithId() {
+        var name = UserProfilePropertyName.valueOf("currentGold");
+
+        assertThat(UserProfilePropertyName.valueOf(new String("currentGold"))).isSameAs(name);
+        assertThat(name.id()).isBetween(0, UserProfilePropertyNames.CAPACITY - 1);
+        assertThat(UserProfilePropertyNames.byId(name.id())).isSameAs(name);
+    }
+
+    @Test
+    void invalidName_isNotInterned() {
+        var name = UserProfilePropertyName.valueOf("current gold");
+
+        assertThat(name.id()).isEqualTo(UserProfilePropertyName.NO_ID);
+        assertThat(UserProfilePropertyName.valueOf("current gold")).isNotSameAs(name).isEqualTo(name);
+    }
+
+    @Test
+    void lookup_returnsInternedNameWithoutInterning() {
+        var name = UserProfilePropertyName.valueOf("questsCompleted");
+
+        assertThat(UserProfilePropertyNames.lookup("questsCompleted")).isSameAs(name);
+        assertThat(UserProfilePropertyNames.lookup("neverStoredProperty")).isNull();
+        assertThat(UserProfilePropertyNames.lookup("neverStoredProperty")).isNull();
+    }
+
+    @Test
+    void unknownId_returnsNull() {
+        assertThat(UserProfilePropertyNames.byId(UserProfilePropertyName.NO_ID)).isNull();
+        assertThat(UserProfilePropertyNames.byId(UserProfilePropertyNames.CAPACITY)).isNull();
+    }
+
+    @Test
+    void concurrentInterning_returnsSingleCanonicalInstance() {
+        List<UserProfilePropertyName> names = IntStream.range(0, 16)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> UserProfilePropertyName.valueOf("questsCompletedConcurrently")))
+                .toList()
+                .stream()
+                .map(CompletableFuture::join)
+                .toList();
+
+        assertThat(names).allSatisfy(name -> assertThat(name).isSameAs(names.get(0)));
+    }
+
+    @Test
+    void internedAndNonInternedNames_areEqualByValue() {
+        var interned = UserProfilePropertyName.valueOf("battleFought");
+        var notInterned = new UserProfilePropertyName("battleFought");
+
+        assertThat(notInterned).isEqualTo(interned).hasSameHashCodeAs(interned);
+        assertThat(interned).isEqualTo(notInterned).isNotEqualTo(UserProfilePropertyName.valueOf("battleWon"));
+    }
+}
@@ -1,7 +1,10 @@
 package com.spotlight.platform.userprofile.api.model.profile.primitives;
 
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+
 import org.junit.jupiter.api.Test;
 
+import java.math.BigInteger;
 import java.util.List;
 
 import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
@@ -25,4 +28,34 @@ class UserProfilePropertyValueTest {
         assertThatJson(UserProfilePropertyValue.valueOf(INTEGER_VALUE)).isEqualTo("5");
         assertThatJson(UserProfilePropertyValue.valueOf(LIST_VALUE)).isEqualTo("[\"one\",\"two\"]");
     }
-}
\ No newline at end of file
+
+    @Test
+    void valueOf_PicksVariantByType() {
+        assertThat(UserProfilePropertyValue.valueOf(INTEGER_VALUE)).isInstanceOf(UserProfilePropertyValue.LongValue.class);
+        assertThat(UserProfilePropertyValue.valueOf(Long.MAX_VALUE)).isInstanceOf(UserProfilePropertyValue.LongValue.class);
+        assertThat(UserProfilePropertyValue.valueOf(BigInteger.TEN)).isInstanceOf(UserProfilePropertyValue.LongValue.class);
+        assertThat(UserProfilePropertyValue.valueOf(BigInteger.TWO.pow(64))).isInstanceOf(UserProfilePropertyValue.ObjectValue.class);
+        assertThat(UserProfilePropertyValue.valueOf(1.5)).isInstanceOf(UserProfilePropertyValue.DoubleValue.class);
+        assertThat(UserProfilePropertyValue.valueOf(STRING_VALUE)).isInstanceOf(UserProfilePropertyValue.StringValue.class);
+        assertThat(UserProfilePropertyValue.valueOf(LIST_VALUE)).isInstanceOf(UserProfilePropertyValue.ListValue.class);
+        assertThat(UserProfilePropertyValue.valueOf(true)).isInstanceOf(UserProfilePropertyValue.ObjectValue.class);
+    }
+
+    @Test
+    void equals_TreatsIntegralTypesAlike() {
+        assertThat(UserProfilePropertyValue.valueOf(INTEGER_VALUE)).isEqualTo(UserProfilePropertyValue.valueOf((long) INTEGER_VALUE))
+                .isNotEqualTo(UserProfilePropertyValue.valueOf((double) INTEGER_VALUE));
+        assertThat(UserProfilePropertyValue.valueOf(null)).isEqualTo(UserProfilePropertyValue.valueOf(null));
+    }
+
+    @Test
+    void deserialization_PicksVariantByJsonType() throws Exception {
+        var mapper = JsonMapper.getInstance();
+
+        assertThat(mapper.readValue("9223372036854775807", UserProfilePropertyValue.class)).isEqualTo(
+                UserProfilePropertyValue.valueOf(Long.MAX_VALUE));
+        assertThat(mapper.readValue("1.5", UserProfilePropertyValue.class)).isEqualTo(UserProfilePropertyValue.valueOf(1.5));
+        assertThat(mapper.readValue("[\"one\",\"two\"]", UserProfilePropertyValue.class)).isEqualTo(
+                UserProfilePropertyValue.valueOf(LIST_VALUE));
+    }
+}
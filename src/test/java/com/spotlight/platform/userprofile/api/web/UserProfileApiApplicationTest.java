@@ -1,11 +1,14 @@
 package com.spotlight.platform.userprofile.api.web;
 
+import com.google.inject.Injector;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
 import com.spotlight.platform.userprofile.api.web.exceptionmappers.EntityNotFoundExceptionMapper;
 
 import org.junit.jupiter.api.Test;
 
+import javax.validation.Validator;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -27,6 +30,11 @@ class UserProfileApiApplicationTest {
         assertThat(getRegisteredSingletonClasses(environment)).containsOnlyOnce(EntityNotFoundExceptionMapper.class);
     }
 
+    @Test
+    void validator_IsSingleton(Injector injector) {
+        assertThat(injector.getInstance(Validator.class)).isSameAs(injector.getInstance(Validator.class));
+    }
+
     @Test
     void dummyHealthCheck_IsRegistered(Environment environment) {
         assertThat(environment.healthChecks().getNames()).contains("preventing-startup-warning-healthcheck");
@@ -0,0 +1,106 @@
+package com.spotlight.platform.userprofile.api.web.caching;
+
+import com.codahale.metrics.MetricRegistry;
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures.USER_PROFILE;
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProfileResponseCacheTest {
+    private static final String HITS = MetricRegistry.name(ProfileResponseCache.class, "hits");
+    private static final String MISSES = MetricRegistry.name(ProfileResponseCache.class, "misses");
+    private static final String EVICTIONS = MetricRegistry.name(ProfileResponseCache.class, "evictions");
+
+    private final MetricRegistry metrics = new MetricRegistry();
+
+    @Test
+    void encode_returnsJsonOfProfile() {
+        var cache = new ProfileResponseCache(JsonMapper.getInstance(), 1 << 20, metrics);
+
+        assertThatJson(new String(cache.encode(USER_PROFILE), StandardCharsets.UTF_8)).isEqualTo(UserProfileFixtures.SERIALIZED_USER_PROFILE);
+    }
+
+    @Test
+    void encodeSameVersionTwice_secondIsHit() {
+        var cache = new ProfileResponseCache(JsonMapper.getInstance(), 1 << 20, metrics);
+
+        byte[] first = cache.encode(USER_PROFILE);
+        byte[] second = cache.encode(profile(USER_PROFILE.userId(), USER_PROFILE.version(), USER_PROFILE.userProfileProperties()));
+
+        assertThat(second).isSameAs(first);
+        assertThat(metrics.counter(HITS).getCount()).isEqualTo(1);
+        assertThat(metrics.counter(MISSES).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void encodeNewerVersion_isMissAndReplacesEntry() {
+        var cache = new ProfileResponseCache(JsonMapper.getInstance(), 1 << 20, metrics);
+        var updatedProfile = USER_PROFILE.nextVersion(UserProfileFixtures.LAST_UPDATE_TIMESTAMP,
+                Map.of(UserProfilePropertyName.valueOf("property1"), UserProfilePropertyValue.valueOf("updated")));
+
+        cache.encode(USER_PROFILE);
+        byte[] updated = cache.encode(updatedProfile);
+
+        assertThat(new String(updated, StandardCharsets.UTF_8)).contains("updated");
+        assertThat(metrics.counter(MISSES).getCount()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.cachedBytes()).isEqualTo(updated.length);
+    }
+
+    @Test
+    void encodeOlderVersion_doesNotReplaceNewerEntry() {
+        var cache = new ProfileResponseCache(JsonMapper.getInstance(), 1 << 20, metrics);
+        var updatedProfile = USER_PROFILE.nextVersion(UserProfileFixtures.LAST_UPDATE_TIMESTAMP);
+
+        byte[] newer = cache.encode(updatedProfile);
+        cache.encode(USER_PROFILE);
+
+        assertThat(cache.encode(updatedProfile)).isSameAs(newer);
+    }
+
+    @Test
+    void exceedingMaxSize_evictsEntriesNotHitSinceCached() throws Exception {
+        int profileBytes = JsonMapper.getInstance().writeValueAsBytes(profile(UserId.valueOf("user-0"), 0, Map.of())).length;
+        var cache = new ProfileResponseCache(JsonMapper.getInstance(), 3L * profileBytes, metrics);
+        var hotProfile = profile(UserId.valueOf("user-0"), 0, Map.of());
+
+        cache.encode(hotProfile);
+        for (int i = 1; i < 10; i++) {
+            cache.encode(hotProfile);
+            cache.encode(profile(UserId.valueOf("user-" + i), 0, Map.of()));
+        }
+
+        assertThat(cache.cachedBytes()).isLessThanOrEqualTo(3L * profileBytes);
+        assertThat(metrics.counter(EVICTIONS).getCount()).isEqualTo(10 - cache.size());
+        byte[] hot = cache.encode(hotProfile);
+        assertThat(cache.encode(hotProfile)).isSameAs(hot);
+        assertThat(metrics.counter(HITS).getCount()).isGreaterThanOrEqualTo(9);
+    }
+
+    @Test
+    void zeroMaxSize_cachesNothing() {
+        var cache = new ProfileResponseCache(JsonMapper.getInstance(), 0, metrics);
+
+        cache.encode(USER_PROFILE);
+        cache.encode(USER_PROFILE);
+
+        assertThat(cache.size()).isZero();
+        assertThat(metrics.counter(HITS).getCount()).isZero();
+    }
+
+    private static UserProfile profile(UserId userId, long version,
+                                       Map<UserProfilePropertyName, UserProfilePropertyValue> properties) {
+        return new UserProfile(userId, UserProfileFixtures.LAST_UPDATE_TIMESTAMP, properties, version);
+    }
+}
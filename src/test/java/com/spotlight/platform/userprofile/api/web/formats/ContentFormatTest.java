@@ -0,0 +1,66 @@
+package com.spotlight.platform.userprofile.api.web.formats;
+
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+import com.spotlight.platform.userprofile.api.web.streaming.CommandArrayReader;
+
+import org.junit.jupiter.api.Test;
+
+import javax.ws.rs.core.MediaType;
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentFormatTest {
+    private static final List<UserProfileCommand> BATCH = IntStream.range(0, 100)
+            .mapToObj(i -> new UserProfileCommand(UserId.valueOf("user-" + i), UserProfileCommand.CommandType.INCREMENT,
+                    Map.of("battleFought", i, "questsNotCompleted", -1), "command-" + i))
+            .toList();
+
+    @Test
+    void of_mapsContentTypeToFormat() {
+        assertThat(ContentFormat.of(MediaType.valueOf(ContentFormat.APPLICATION_SMILE))).isEqualTo(ContentFormat.SMILE);
+        assertThat(ContentFormat.of(MediaType.valueOf(ContentFormat.APPLICATION_CBOR))).isEqualTo(ContentFormat.CBOR);
+        assertThat(ContentFormat.of(MediaType.valueOf("application/json; charset=utf-8"))).isEqualTo(ContentFormat.JSON);
+        assertThat(ContentFormat.of(null)).isEqualTo(ContentFormat.JSON);
+    }
+
+    @Test
+    void commandBatch_isReadBackFromEveryFormat() throws Exception {
+        for (ContentFormat format : ContentFormat.values()) {
+            byte[] encoded = format.objectMapper().writeValueAsBytes(BATCH);
+
+            try (var reader = new CommandArrayReader(format.objectMapper(), new ByteArrayInputStream(encoded))) {
+                for (UserProfileCommand command : BATCH) {
+                    var parsedCommand = reader.next();
+                    assertThat(parsedCommand.isFailed()).as(format.name()).isFalse();
+                    assertThat(parsedCommand.command()).as(format.name()).usingRecursiveComparison().isEqualTo(command);
+                }
+                assertThat(reader.next()).as(format.name()).isNull();
+            }
+        }
+    }
+
+    @Test
+    void profile_isReadBackFromEveryFormat() throws Exception {
+        for (ContentFormat format : ContentFormat.values()) {
+            byte[] encoded = format.objectMapper().writeValueAsBytes(UserProfileFixtures.USER_PROFILE);
+
+            assertThat(format.objectMapper().readValue(encoded, UserProfile.class)).as(format.name()).usingRecursiveComparison()
+                    .isEqualTo(UserProfileFixtures.USER_PROFILE);
+        }
+    }
+
+    @Test
+    void binaryFormats_areSmallerThanJson() throws Exception {
+        int jsonSize = ContentFormat.JSON.objectMapper().writeValueAsBytes(BATCH).length;
+
+        assertThat(ContentFormat.SMILE.objectMapper().writeValueAsBytes(BATCH).length).isLessThan(jsonSize);
+        assertThat(ContentFormat.CBOR.objectMapper().writeValueAsBytes(BATCH).length).isLessThan(jsonSize);
+    }
+}
@@ -0,0 +1,174 @@
+package com.spotlight.platform.userprofile.api.web.resources;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spotlight.platform.userprofile.api.core.profile.ingestion.CommandIngestionQueue;
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.web.UserProfileApiApplication;
+import com.spotlight.platform.userprofile.api.web.formats.ContentFormat;
+
+import net.javacrumbs.jsonunit.core.Option;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import ru.vyarus.dropwizard.guice.test.ClientSupport;
+import ru.vyarus.dropwizard.guice.test.jupiter.ext.TestDropwizardAppExtension;
+
+import javax.ws.rs.client.Entity;
+
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Execution(ExecutionMode.SAME_THREAD)
+class CommandsResourceIntegrationTest {
+    private static final String URL = "/commands";
+    private static final String ASYNC_URL = "/commands/async";
+
+    @RegisterExtension
+    static TestDropwizardAppExtension APP = TestDropwizardAppExtension.forApp(UserProfileApiApplication.class)
+            .randomPorts()
+            .hooks(builder -> builder.modulesOverride(new AbstractModule() {
+                @Provides
+                @Singleton
+                public UserProfileDao getUserProfileDao() {
+                    return mock(UserProfileDao.class);
+                }
+            }))
+            .create();
+
+    @BeforeEach
+    void beforeEach(UserProfileDao userProfileDao) {
+        reset(userProfileDao);
+        when(userProfileDao.update(any(UserId.class), any())).thenAnswer(
+                invocation -> invocation.<UnaryOperator<UserProfile>>getArgument(1).apply(null));
+    }
+
+    @Test
+    void mixedUserBatch_oneResultPerCommandInRequestOrder(ClientSupport client, UserProfileDao userProfileDao) {
+        var response = client.targetRest().path(URL).request().post(Entity.json("""
+                [{"userId": "user-1", "type": "replace", "properties": {"currentGold": 500}},
+                 {"userId": "user-2", "type": "increment", "properties": {"battleFought": "many"}},
+                 {"userId": "user-2", "type": "unknownType", "properties": {}},
+                 {"userId": "user-1", "type": "increment", "properties": {"battleFought": 1}},
+                 {"userId": "user-3", "type": "collect", "properties": {"inventory": ["sword1"]}}]
+                """));
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+        assertThatJson(response.readEntity(String.class)).when(Option.IGNORING_EXTRA_FIELDS).isEqualTo("""
+                [{"status": "APPLIED"}, {"status": "FAILED"}, {"status": "FAILED"}, {"status": "APPLIED"}, {"status": "APPLIED"}]
+                """);
+        verify(userProfileDao, times(1)).update(eq(UserId.valueOf("user-1")), any());
+        verify(userProfileDao, times(1)).update(eq(UserId.valueOf("user-3")), any());
+    }
+
+    @Test
+    void failedCommand_resultCarriesError(ClientSupport client) {
+        var response = client.targetRest().path(URL).request().post(Entity.json("""
+                [{"userId": "user-1", "type": "increment", "properties": {"battleFought": "many"}}]
+                """));
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+        assertThatJson(response.readEntity(String.class)).inPath("[0].error").isString().isNotEmpty();
+    }
+
+    @Test
+    void smileBatch_resultsAreReturnedAsSmile(ClientSupport client) throws Exception {
+        ObjectMapper smileMapper = ContentFormat.SMILE.objectMapper();
+        byte[] batch = smileMapper.writeValueAsBytes(List.of(
+                Map.of("userId", "user-1", "type", "replace", "properties", Map.of("currentGold", 500)),
+                Map.of("userId", "user-2", "type", "increment", "properties", Map.of("battleFought", "many"))));
+
+        var response = client.targetRest().path(URL).request(ContentFormat.APPLICATION_SMILE)
+                .post(Entity.entity(batch, ContentFormat.APPLICATION_SMILE));
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+        assertThat(response.getMediaType().toString()).isEqualTo(ContentFormat.APPLICATION_SMILE);
+        assertThatJson(smileMapper.readTree(response.readEntity(byte[].class)).toString()).when(Option.IGNORING_EXTRA_FIELDS)
+                .isEqualTo("""
+                        [{"status": "APPLIED"}, {"status": "FAILED"}]
+                        """);
+    }
+
+    @Test
+    void newlineDelimitedCommands_oneResultLinePerCommandLine(ClientSupport client, UserProfileDao userProfileDao) {
+        var response = client.targetRest().path(URL).request(ProfilesResource.APPLICATION_NDJSON).post(Entity.entity("""
+                {"userId": "user-1", "type": "replace", "properties": {"currentGold": 500}}
+                {"userId": "user-2", "type": "increment", "properties":
+
+                {"userId": "user-2", "type": "increment", "properties": {"battleFought": 1}}
+                """, ProfilesResource.APPLICATION_NDJSON));
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+        assertThat(response.getMediaType().toString()).isEqualTo(ProfilesResource.APPLICATION_NDJSON);
+        List<String> lines = response.readEntity(String.class).lines().toList();
+        assertThat(lines).hasSize(3);
+        assertThatJson(lines.get(0)).inPath("status").isString().isEqualTo("APPLIED");
+        assertThatJson(lines.get(1)).inPath("status").isString().isEqualTo("FAILED");
+        assertThatJson(lines.get(2)).inPath("status").isString().isEqualTo("APPLIED");
+        verify(userProfileDao, times(1)).update(eq(UserId.valueOf("user-1")), any());
+        verify(userProfileDao, times(1)).update(eq(UserId.valueOf("user-2")), any());
+    }
+
+    @Test
+    void emptyBatch_returnsEmptyArray(ClientSupport client) {
+        var response = client.targetRest().path(URL).request().post(Entity.json("[]"));
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+        assertThatJson(response.readEntity(String.class)).isArray().isEmpty();
+    }
+
+    @Test
+    void asyncBatch_isAcceptedAndAppliedInBackground(ClientSupport client, UserProfileDao userProfileDao) {
+        var response = client.targetRest().path(ASYNC_URL).request().post(Entity.json("""
+                [{"userId": "user-1", "type": "replace", "properties": {"currentGold": 500}},
+                 {"userId": "user-2", "type": "increment", "properties": {"battleFought": 1}}]
+                """));
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.ACCEPTED_202);
+        verify(userProfileDao, timeout(5000)).update(eq(UserId.valueOf("user-1")), any());
+        verify(userProfileDao, timeout(5000)).update(eq(UserId.valueOf("user-2")), any());
+    }
+
+    @Test
+    void asyncBatchWithInvalidCommand_returns400AndQueuesNothing(ClientSupport client, CommandIngestionQueue ingestionQueue) {
+        var response = client.targetRest().path(ASYNC_URL).request().post(Entity.json("""
+                [{"userId": "user-1", "type": "replace", "properties": {"currentGold": 500}},
+                 {"userId": "user-2", "type": "increment", "properties": {"battleFought": "many"}}]
+                """));
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST_400);
+        assertThat(response.readEntity(String.class)).startsWith("Command 1: ");
+        assertThat(ingestionQueue.pending()).isZero();
+    }
+
+    @Test
+    void malformedJson_returns400AndAppliesNothing(ClientSupport client, UserProfileDao userProfileDao) {
+        var response = client.targetRest().path(URL).request().post(Entity.json("""
+                [{"userId": "user-1", "type": "replace", "properties": {"currentGold": 500}}, {"userId": "user-2"
+                """));
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST_400);
+        verify(userProfileDao, times(0)).update(any(UserId.class), any());
+    }
+}
@@ -0,0 +1,162 @@
+package com.spotlight.platform.userprofile.api.web.resources;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.google.inject.Singleton;
+
+import com.spotlight.platform.userprofile.api.core.profile.persistence.UserProfileDao;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+import com.spotlight.platform.userprofile.api.web.UserProfileApiApplication;
+
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import ru.vyarus.dropwizard.guice.test.ClientSupport;
+import ru.vyarus.dropwizard.guice.test.jupiter.ext.TestDropwizardAppExtension;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.json;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.when;
+
+@Execution(ExecutionMode.SAME_THREAD)
+class ProfilesResourceIntegrationTest {
+    private static final String URL = "/profiles";
+    private static final String MISSING_USER = """
+            {"userId": "non-existing-user-id", "error": "Profile not found"}
+            """;
+
+    @RegisterExtension
+    static TestDropwizardAppExtension APP = TestDropwizardAppExtension.forApp(UserProfileApiApplication.class)
+            .randomPorts()
+            .hooks(builder -> builder.modulesOverride(new AbstractModule() {
+                @Provides
+                @Singleton
+                public UserProfileDao getUserProfileDao() {
+                    return mock(UserProfileDao.class);
+                }
+            }))
+            .create();
+
+    @BeforeEach
+    void beforeEach(UserProfileDao userProfileDao) {
+        reset(userProfileDao);
+        when(userProfileDao.getAll(any())).thenCallRealMethod();
+    }
+
+    @Test
+    void severalUsers_profilesAreReturnedInOrderWithMissingUsersInline(ClientSupport client, UserProfileDao userProfileDao) {
+        when(userProfileDao.get(UserProfileFixtures.USER_ID)).thenReturn(Optional.of(UserProfileFixtures.USER_PROFILE));
+        when(userProfileDao.get(UserProfileFixtures.NON_EXISTING_USER_ID)).thenReturn(Optional.empty());
+
+        var response = client.targetRest()
+                .path(URL)
+                .queryParam("userId", UserProfileFixtures.NON_EXISTING_USER_ID, UserProfileFixtures.USER_ID)
+                .request()
+                .get();
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+        assertThat(response.getHeaderString(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+        assertThatJson(response.readEntity(String.class)).isArray().containsExactly(
+                json(MISSING_USER), json(UserProfileFixtures.SERIALIZED_USER_PROFILE));
+    }
+
+    @Test
+    void fields_onlyRequestedPropertiesAreReturned(ClientSupport client, UserProfileDao userProfileDao) {
+        when(userProfileDao.get(UserProfileFixtures.USER_ID)).thenReturn(Optional.of(UserProfileFixtures.USER_PROFILE));
+
+        var response = client.targetRest()
+                .path(URL)
+                .queryParam("userId", UserProfileFixtures.USER_ID)
+                .queryParam("fields", "otherProperty")
+                .request()
+                .get();
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+        assertThatJson(response.readEntity(String.class)).inPath("[0].userProfileProperties").isObject().isEmpty();
+    }
+
+    @Test
+    void bulkPost_profilesAreReturnedAsJsonArray(ClientSupport client, UserProfileDao userProfileDao) {
+        when(userProfileDao.get(UserProfileFixtures.USER_ID)).thenReturn(Optional.of(UserProfileFixtures.USER_PROFILE));
+
+        var response = client.targetRest()
+                .path(URL)
+                .request(MediaType.APPLICATION_JSON)
+                .post(Entity.json(userIds(UserProfileFixtures.USER_ID, UserProfileFixtures.NON_EXISTING_USER_ID)));
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+        assertThat(response.getMediaType().toString()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThatJson(response.readEntity(String.class)).isArray().containsExactly(
+                json(UserProfileFixtures.SERIALIZED_USER_PROFILE), json(MISSING_USER));
+    }
+
+    @Test
+    void bulkPost_ndjsonAccepted_oneProfilePerLineIsReturned(ClientSupport client, UserProfileDao userProfileDao) {
+        when(userProfileDao.get(UserProfileFixtures.USER_ID)).thenReturn(Optional.of(UserProfileFixtures.USER_PROFILE));
+
+        var response = client.targetRest()
+                .path(URL)
+                .queryParam("fields", "property1")
+                .request(ProfilesResource.APPLICATION_NDJSON)
+                .post(Entity.json(userIds(UserProfileFixtures.USER_ID, UserProfileFixtures.NON_EXISTING_USER_ID)));
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+        assertThat(response.getMediaType().toString()).isEqualTo(ProfilesResource.APPLICATION_NDJSON);
+        String[] lines = response.readEntity(String.class).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThatJson(lines[0]).isEqualTo(UserProfileFixtures.SERIALIZED_USER_PROFILE);
+        assertThatJson(lines[1]).isEqualTo(MISSING_USER);
+    }
+
+    @Test
+    void bulkPost_invalidUserId_isRejected(ClientSupport client) {
+        var response = client.targetRest()
+                .path(URL)
+                .request(MediaType.APPLICATION_JSON)
+                .post(Entity.json(userIds(UserProfileFixtures.INVALID_USER_ID)));
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY_422);
+    }
+
+    @Test
+    void bulkPost_noUsers_isRejected(ClientSupport client) {
+        var response = client.targetRest().path(URL).request(MediaType.APPLICATION_JSON).post(Entity.json(userIds()));
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY_422);
+    }
+
+    @Test
+    void noUsers_returns400(ClientSupport client) {
+        var response = client.targetRest().path(URL).request().get();
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST_400);
+    }
+
+    @Test
+    void invalidUserId_returns400(ClientSupport client) {
+        var response = client.targetRest().path(URL).queryParam("userId", UserProfileFixtures.INVALID_USER_ID).request().get();
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST_400);
+    }
+
+    private static String userIds(UserId... userIds) {
+        return Arrays.stream(userIds).map(userId -> '"' + userId.toString() + '"').collect(Collectors.joining(",", "[", "]"));
+    }
+}
@@ -13,6 +13,7 @@ import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfi
 import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
 import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
 import com.spotlight.platform.userprofile.api.web.UserProfileApiApplication;
+import com.spotlight.platform.userprofile.api.web.formats.ContentFormat;
 
 
 import net.minidev.json.JSONArray;
@@ -27,13 +28,17 @@ import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
 
 import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 import ru.vyarus.dropwizard.guice.test.ClientSupport;
 import ru.vyarus.dropwizard.guice.test.jupiter.ext.TestDropwizardAppExtension;
 
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
 import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
@@ -43,6 +48,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @Execution(ExecutionMode.SAME_THREAD)
@@ -63,6 +70,9 @@ class UserResourceIntegrationTest {
     @BeforeEach
     void beforeEach(UserProfileDao userProfileDao) {
         reset(userProfileDao);
+        // Like a real DAO, run the update on a missing profile so that batch commands get a result.
+        when(userProfileDao.update(any(UserId.class), any())).thenAnswer(
+                invocation -> invocation.<UnaryOperator<UserProfile>>getArgument(1).apply(null));
     }
 
     @Nested
@@ -81,6 +91,111 @@ class UserResourceIntegrationTest {
             assertThatJson(response.readEntity(UserProfile.class)).isEqualTo(UserProfileFixtures.SERIALIZED_USER_PROFILE);
         }
 
+        @Test
+        void repeatedRequest_sameObjectIsReturned(ClientSupport client, UserProfileDao userProfileDao) {
+            when(userProfileDao.get(any(UserId.class))).thenReturn(Optional.of(UserProfileFixtures.USER_PROFILE));
+
+            client.targetRest().path(URL).resolveTemplate(USER_ID_PATH_PARAM, UserProfileFixtures.USER_ID).request().get().close();
+            var response = client.targetRest().path(URL).resolveTemplate(USER_ID_PATH_PARAM, UserProfileFixtures.USER_ID).request().get();
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+            assertThat(response.getMediaType().toString()).isEqualTo(MediaType.APPLICATION_JSON);
+            assertThatJson(response.readEntity(String.class)).isEqualTo(UserProfileFixtures.SERIALIZED_USER_PROFILE);
+        }
+
+        @Test
+        void cborAccepted_profileIsReturnedAsCbor(ClientSupport client, UserProfileDao userProfileDao) throws Exception {
+            when(userProfileDao.get(any(UserId.class))).thenReturn(Optional.of(UserProfileFixtures.USER_PROFILE));
+
+            var jsonTag = client.targetRest().path(URL).resolveTemplate(USER_ID_PATH_PARAM, UserProfileFixtures.USER_ID).request().get()
+                    .getEntityTag();
+            var response = client.targetRest().path(URL).resolveTemplate(USER_ID_PATH_PARAM, UserProfileFixtures.USER_ID)
+                    .request(ContentFormat.APPLICATION_CBOR).get();
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+            assertThat(response.getMediaType().toString()).isEqualTo(ContentFormat.APPLICATION_CBOR);
+            assertThat(response.getEntityTag()).isNotEqualTo(jsonTag);
+            assertThat(response.getHeaderString(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+            assertThatJson(ContentFormat.CBOR.objectMapper().readTree(response.readEntity(byte[].class)).toString()).isEqualTo(
+                    UserProfileFixtures.SERIALIZED_USER_PROFILE);
+        }
+
+        @Test
+        void existingUser_entityTagIsReturned(ClientSupport client, UserProfileDao userProfileDao) {
+            when(userProfileDao.get(any(UserId.class))).thenReturn(Optional.of(UserProfileFixtures.USER_PROFILE));
+
+            var response = client.targetRest().path(URL).resolveTemplate(USER_ID_PATH_PARAM, UserProfileFixtures.USER_ID).request().get();
+
+            assertThat(response.getEntityTag()).isNotNull();
+            assertThat(response.getEntityTag().isWeak()).isFalse();
+        }
+
+        @Test
+        void matchingIfNoneMatch_returns304WithoutBody(ClientSupport client, UserProfileDao userProfileDao) {
+            when(userProfileDao.get(any(UserId.class))).thenReturn(Optional.of(UserProfileFixtures.USER_PROFILE));
+            var entityTag = client.targetRest().path(URL).resolveTemplate(USER_ID_PATH_PARAM, UserProfileFixtures.USER_ID).request().get()
+                    .getEntityTag();
+
+            var response = client.targetRest()
+                    .path(URL)
+                    .resolveTemplate(USER_ID_PATH_PARAM, UserProfileFixtures.USER_ID)
+                    .request()
+                    .header(HttpHeaders.IF_NONE_MATCH, entityTag.toString())
+                    .get();
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED_304);
+            assertThat(response.hasEntity()).isFalse();
+            assertThat(response.getEntityTag()).isEqualTo(entityTag);
+            assertThat(response.getHeaderString(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+        }
+
+        @Test
+        void staleIfNoneMatch_returnsUpdatedProfile(ClientSupport client, UserProfileDao userProfileDao) {
+            when(userProfileDao.get(any(UserId.class))).thenReturn(Optional.of(UserProfileFixtures.USER_PROFILE));
+            var entityTag = client.targetRest().path(URL).resolveTemplate(USER_ID_PATH_PARAM, UserProfileFixtures.USER_ID).request().get()
+                    .getEntityTag();
+            when(userProfileDao.get(any(UserId.class))).thenReturn(
+                    Optional.of(UserProfileFixtures.USER_PROFILE.nextVersion(UserProfileFixtures.LAST_UPDATE_TIMESTAMP)));
+
+            var response = client.targetRest()
+                    .path(URL)
+                    .resolveTemplate(USER_ID_PATH_PARAM, UserProfileFixtures.USER_ID)
+                    .request()
+                    .header(HttpHeaders.IF_NONE_MATCH, entityTag.toString())
+                    .get();
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+            assertThat(response.getEntityTag()).isNotEqualTo(entityTag);
+            assertThatJson(response.readEntity(String.class)).isEqualTo(UserProfileFixtures.SERIALIZED_USER_PROFILE);
+        }
+
+        @Test
+        void fields_onlyRequestedPropertiesAreReturned(ClientSupport client, UserProfileDao userProfileDao) {
+            when(userProfileDao.get(any(UserId.class))).thenReturn(Optional.of(UserProfileFixtures.USER_PROFILE));
+
+            var response = client.targetRest()
+                    .path(URL)
+                    .resolveTemplate(USER_ID_PATH_PARAM, UserProfileFixtures.USER_ID)
+                    .queryParam("fields", "property1,otherProperty")
+                    .request()
+                    .get();
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+            assertThatJson(response.readEntity(String.class)).isEqualTo(UserProfileFixtures.SERIALIZED_USER_PROFILE);
+        }
+
+        @Test
+        void invalidFields_returns400(ClientSupport client) {
+            var response = client.targetRest()
+                    .path(URL)
+                    .resolveTemplate(USER_ID_PATH_PARAM, UserProfileFixtures.USER_ID)
+                    .queryParam("fields", "property.1")
+                    .request()
+                    .get();
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST_400);
+        }
+
         @Test
         void nonExistingUser_returns404(ClientSupport client, UserProfileDao userProfileDao) {
             when(userProfileDao.get(any(UserId.class))).thenReturn(Optional.empty());
@@ -243,7 +358,11 @@ class UserResourceIntegrationTest {
                         .post(Entity.json(commandList.toString()));
 
 
-                assertThat(response.getStatus()).isEqualTo(HttpStatus.NO_CONTENT_204);
+                assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+                assertThat(response.getHeaderString(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT);
+                assertThatJson(response.readEntity(String.class)).inPath("[*].status").isEqualTo(json("""
+                        ["APPLIED", "APPLIED"]
+                        """));
 
             } catch (ProcessingException e) {
                 // handle exception
@@ -253,6 +372,114 @@ class UserResourceIntegrationTest {
             }
         }
 
+        @Test
+        void notAnArray_returns400(ClientSupport client) {
+            var response = client.targetRest()
+                    .path(BATCH_URL)
+                    .request()
+                    .post(Entity.json("{\"userId\": \"de4310e5-b139-441a-99db-77c9c4a5fada\", \"type\": \"replace\""));
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST_400);
+        }
+
+        @Test
+        void malformedBatch_resultsEndWithFailure(ClientSupport client) {
+            var response = client.targetRest()
+                    .path(BATCH_URL)
+                    .request()
+                    .post(Entity.json("[{\"userId\": \"de4310e5-b139-441a-99db-77c9c4a5fada\", \"type\": \"replace\""));
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+            assertThatJson(response.readEntity(String.class)).inPath("[*].status").isEqualTo(json("""
+                    ["FAILED"]
+                    """));
+        }
+
+        @Test
+        void unknownCommandTypeInBatch_failsOnItsOwn(ClientSupport client) {
+            JSONArray commandList = new JSONArray();
+            JSONObject command = new JSONObject();
+            command.put("userId", "de4310e5-b139-441a-99db-77c9c4a5fada");
+            command.put("type", "anyType");
+            command.put("properties", new JSONObject());
+            commandList.add(command);
+
+            var response = client.targetRest()
+                    .path(BATCH_URL)
+                    .request()
+                    .post(Entity.json(commandList.toString()));
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+            assertThatJson(response.readEntity(String.class)).inPath("[*].status").isEqualTo(json("""
+                    ["FAILED"]
+                    """));
+        }
+
+        @Test
+        void invalidCommandAfterValidOnes_failsOnItsOwn(ClientSupport client, UserProfileDao userProfileDao) {
+            var response = client.targetRest().path(BATCH_URL).request().post(Entity.json("""
+                    [{"userId": "de4310e5-b139-441a-99db-77c9c4a5fada", "type": "increment", "properties": {"battleFought": 1}},
+                     {"userId": "de4310e5-b139-441a-99db-77c9c4a5fada", "type": "increment", "properties": {"battleFought": "new"}}]
+                    """));
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+            assertThatJson(response.readEntity(String.class)).inPath("[*].status").isEqualTo(json("""
+                    ["APPLIED", "FAILED"]
+                    """));
+            verify(userProfileDao, times(1)).update(any(UserId.class), any());
+        }
+
+        @Test
+        void malformedBatchAfterValidCommands_earlierCommandsAreApplied(ClientSupport client, UserProfileDao userProfileDao) {
+            var response = client.targetRest().path(BATCH_URL).request().post(Entity.json("""
+                    [{"userId": "de4310e5-b139-441a-99db-77c9c4a5fada", "type": "increment", "properties": {"battleFought": 1}},
+                     {"userId": "de4310e5-b139-441a-99db-77c9c4a5fada", "type":
+                    """));
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+            assertThatJson(response.readEntity(String.class)).inPath("[*].status").isEqualTo(json("""
+                    ["APPLIED", "FAILED"]
+                    """));
+            verify(userProfileDao, times(1)).update(any(UserId.class), any());
+        }
+
+        @Test
+        void batchLargerThanOneChunk_isAppliedChunkByChunk(ClientSupport client, UserProfileDao userProfileDao) {
+            int commandCount = 2 * CommandsResource.MAX_COMMANDS_PER_CHUNK + 500;
+            JSONArray commandList = new JSONArray();
+            for (int i = 0; i < commandCount; i++) {
+                JSONObject command = new JSONObject();
+                command.put("userId", "de4310e5-b139-441a-99db-77c9c4a5fada");
+                command.put("type", i % 7 == 0 ? "anyType" : "increment");
+                command.put("properties", new JSONObject(Map.of("battleFought", 1)));
+                commandList.add(command);
+            }
+
+            var response = client.targetRest().path(BATCH_URL).request().post(Entity.json(commandList.toString()));
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+            JSONArray expectedStatuses = new JSONArray();
+            for (int i = 0; i < commandCount; i++) {
+                expectedStatuses.add(i % 7 == 0 ? "FAILED" : "APPLIED");
+            }
+            assertThatJson(response.readEntity(String.class)).inPath("[*].status").isEqualTo(json(expectedStatuses.toString()));
+            // The commands of the one user are applied with one update per chunk.
+            verify(userProfileDao, times(3)).update(any(UserId.class), any());
+        }
+
+        @Test
+        void commandFailingWhileApplied_returnsResultPerCommand(ClientSupport client) {
+            var response = client.targetRest().path(BATCH_URL).request().post(Entity.json("""
+                    [{"userId": "de4310e5-b139-441a-99db-77c9c4a5fada", "type": "replace", "properties": {"battleFought": "many"}},
+                     {"userId": "de4310e5-b139-441a-99db-77c9c4a5fada", "type": "increment", "properties": {"battleFought": 1}}]
+                    """));
+
+            assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+            assertThatJson(response.readEntity(String.class)).inPath("[*].status").isEqualTo(json("""
+                    ["APPLIED", "FAILED"]
+                    """));
+        }
+
         @Test
         void not_validInput_processCommandsBatch(ClientSupport client, UserProfileDao userProfileDao) {
             userProfileDao.put(UserProfileFixtures.USER_PROFILE);
@@ -287,7 +514,10 @@ class UserResourceIntegrationTest {
                         .post(Entity.json(commandList.toString()));
 
 
-                assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST_400);
+                assertThat(response.getStatus()).isEqualTo(HttpStatus.OK_200);
+                assertThatJson(response.readEntity(String.class)).inPath("[*].status").isEqualTo(json("""
+                        ["APPLIED", "FAILED"]
+                        """));
 
             } catch (ProcessingException e) {
                 // handle exception
@@ -0,0 +1,65 @@
+package com.spotlight.platform.userprofile.api.web.streaming;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CommandArrayReaderTest {
+
+    @Test
+    void arrayOfCommands_elementsAreReadOneByOne() throws IOException {
+        try (var reader = reader("""
+                [{"userId": "user-1", "type": "replace", "properties": {"currentGold": 500}},
+                 {"userId": "user-2", "type": "collect", "properties": {"inventory": ["sword1"]}}]
+                """)) {
+            var first = reader.next();
+            var second = reader.next();
+
+            assertThat(first.command().getUserId()).isEqualTo(UserId.valueOf("user-1"));
+            assertThat(first.command().getType()).isEqualTo(UserProfileCommand.CommandType.REPLACE);
+            assertThat(second.command().getUserId()).isEqualTo(UserId.valueOf("user-2"));
+            assertThat(reader.next()).isNull();
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void unbindableElement_isReportedAndReadingContinues() throws IOException {
+        try (var reader = reader("""
+                [{"userId": "user-1", "type": "anyType", "properties": {}}, null,
+                 {"userId": "user-2", "type": "increment", "properties": {"battleFought": 1}}]
+                """)) {
+            assertThat(reader.next().isFailed()).isTrue();
+            assertThat(reader.next().isFailed()).isTrue();
+            assertThat(reader.next().command().getUserId()).isEqualTo(UserId.valueOf("user-2"));
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void notAnArray_throwsException() {
+        assertThatThrownBy(() -> reader("{\"userId\": \"user-1\"}")).isInstanceOf(JsonProcessingException.class);
+    }
+
+    @Test
+    void truncatedArray_throwsException() throws IOException {
+        try (var reader = reader("[{\"userId\": \"user-1\", \"type\": \"replace\", \"properties\": {}}")) {
+            assertThat(reader.next().isFailed()).isFalse();
+            assertThatThrownBy(reader::next).isInstanceOf(JsonProcessingException.class);
+        }
+    }
+
+    private static CommandArrayReader reader(String json) throws IOException {
+        return new CommandArrayReader(JsonMapper.getInstance(), new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+}
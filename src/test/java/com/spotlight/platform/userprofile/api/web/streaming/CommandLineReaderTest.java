@@ -0,0 +1,103 @@
+package com.spotlight.platform.userprofile.api.web.streaming;
+
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommandLineReaderTest {
+
+    @Test
+    void linesOfCommands_areReadOneByOne() throws IOException {
+        try (var reader = reader("""
+                {"userId": "user-1", "type": "replace", "properties": {"currentGold": 500}}
+
+                {"userId": "user-2", "type": "collect", "properties": {"inventory": ["sword1"]}}\r
+                """)) {
+            var first = reader.next();
+            var second = reader.next();
+
+            assertThat(first.command().getUserId()).isEqualTo(UserId.valueOf("user-1"));
+            assertThat(first.command().getType()).isEqualTo(UserProfileCommand.CommandType.REPLACE);
+            assertThat(second.command().getUserId()).isEqualTo(UserId.valueOf("user-2"));
+            assertThat(reader.next()).isNull();
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void lastLineWithoutNewline_isRead() throws IOException {
+        try (var reader = reader("{\"userId\": \"user-1\", \"type\": \"replace\", \"properties\": {}}")) {
+            assertThat(reader.next().command().getUserId()).isEqualTo(UserId.valueOf("user-1"));
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void malformedLines_areReportedAndReadingContinues() throws IOException {
+        try (var reader = reader("""
+                {"userId": "user-1", "type": "replace", "properties":
+                {"userId": "user-1", "type": "anyType", "properties": {}}
+                null
+                {"userId": "user-2", "type": "increment", "properties": {"battleFought": 1}}
+                """)) {
+            assertThat(reader.next().isFailed()).isTrue();
+            assertThat(reader.next().isFailed()).isTrue();
+            assertThat(reader.next().error()).isEqualTo("Command must not be null");
+            assertThat(reader.next().command().getUserId()).isEqualTo(UserId.valueOf("user-2"));
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void contentAfterTheCommand_isReportedAndReadingContinues() throws IOException {
+        try (var reader = reader("""
+                {"userId": "user-1", "type": "replace", "properties": {}}{"userId": "user-1", "type": "replace", "properties": {}}
+                {"userId": "user-1", "type": "replace", "properties": {}} garbage
+                {"userId": "user-1", "type": "replace", "properties": {}} 42
+                {"userId": "user-2", "type": "replace", "properties": {}}\t
+                """)) {
+            assertThat(reader.next().error()).isEqualTo("Unexpected content after the command");
+            assertThat(reader.next().isFailed()).isTrue();
+            assertThat(reader.next().error()).isEqualTo("Unexpected content after the command");
+            assertThat(reader.next().command().getUserId()).isEqualTo(UserId.valueOf("user-2"));
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void overlongLine_isReportedAndReadingContinues() throws IOException {
+        String longLine = "{\"userId\": \"" + "x".repeat(CommandLineReader.MAX_LINE_BYTES) + "\"}\n";
+        try (var reader = reader(longLine + "{\"userId\": \"user-2\", \"type\": \"replace\", \"properties\": {}}\n")) {
+            assertThat(reader.next().error()).startsWith("Line longer than");
+            assertThat(reader.next().command().getUserId()).isEqualTo(UserId.valueOf("user-2"));
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void hasBufferedInput_tellsWhetherMoreLinesHaveArrived() throws IOException {
+        try (var reader = reader("""
+                {"userId": "user-1", "type": "replace", "properties": {}}
+                {"userId": "user-2", "type": "replace", "properties": {}}
+                """)) {
+            reader.next();
+            assertThat(reader.hasBufferedInput()).isTrue();
+            reader.next();
+            assertThat(reader.hasBufferedInput()).isFalse();
+        }
+    }
+
+    private static CommandLineReader reader(String lines) {
+        InputStream input = new ByteArrayInputStream(lines.getBytes(StandardCharsets.UTF_8));
+        return new CommandLineReader(JsonMapper.getInstance(), input);
+    }
+}
@@ -0,0 +1,71 @@
+package com.spotlight.platform.userprofile.api.web.streaming;
+
+import com.spotlight.platform.userprofile.api.core.json.JsonMapper;
+import com.spotlight.platform.userprofile.api.model.profile.CompactPropertyMap;
+import com.spotlight.platform.userprofile.api.model.profile.UserProfile;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfileFixtures;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyName;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyNames;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserProfilePropertyValue;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProfileProjectionWriterTest {
+    private static final UserProfile USER_PROFILE = new UserProfile(UserProfileFixtures.USER_ID, UserProfileFixtures.LAST_UPDATE_TIMESTAMP,
+            CompactPropertyMap.copyOf(Map.of(
+                    UserProfilePropertyName.valueOf("currentGold"), UserProfilePropertyValue.valueOf(500),
+                    UserProfilePropertyName.valueOf("inventory"), UserProfilePropertyValue.valueOf(List.of("sword1", "shield1")),
+                    UserProfilePropertyName.valueOf("tools"), UserProfilePropertyValue.valueOf("pickaxe"))));
+
+    @Test
+    void parseFields_splitsTrimsAndDeduplicates() {
+        assertThat(ProfileProjectionWriter.parseFields(" currentGold,inventory,,currentGold ")).containsExactly("currentGold", "inventory");
+    }
+
+    @Test
+    void parseFields_invalidName_throws() {
+        assertThatThrownBy(() -> ProfileProjectionWriter.parseFields("currentGold,current gold"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("current gold");
+    }
+
+    @Test
+    void write_onlyRequestedPropertiesAreWritten() throws IOException {
+        assertThatJson(write(List.of("currentGold", "inventory"))).isEqualTo("""
+                {"userId": "existing-user-id", "latestUpdateTime": "2021-06-01T09:16:36.123Z",
+                 "userProfileProperties": {"currentGold": 500, "inventory": ["sword1", "shield1"]}}
+                """);
+    }
+
+    @Test
+    void write_missingPropertiesAreLeftOutAndNotInterned() throws IOException {
+        assertThatJson(write(List.of("tools", "propertyNoProfileHas"))).isEqualTo("""
+                {"userId": "existing-user-id", "latestUpdateTime": "2021-06-01T09:16:36.123Z",
+                 "userProfileProperties": {"tools": "pickaxe"}}
+                """);
+        assertThat(UserProfilePropertyNames.lookup("propertyNoProfileHas")).isNull();
+    }
+
+    @Test
+    void write_noFields_writesEmptyProperties() throws IOException {
+        assertThatJson(write(List.of())).node("userProfileProperties").isObject().isEmpty();
+    }
+
+    private static String write(Collection<String> fields) throws IOException {
+        var output = new StringWriter();
+        try (var generator = JsonMapper.getInstance().getFactory().createGenerator(output)) {
+            ProfileProjectionWriter.write(generator, USER_PROFILE, fields);
+        }
+        return output.toString();
+    }
+}
@@ -0,0 +1,39 @@
+package com.spotlight.platform.userprofile.api.web.validation;
+
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import io.dropwizard.jersey.validation.Validators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserProfileCommandValidationTest {
+    private static final UserId USER_ID = UserId.valueOf("de4310e5-b139-441a-99db-77c9c4a5fada");
+
+    private final UserProfileCommandValidation commandValidation = new UserProfileCommandValidation(Validators.newValidator());
+
+    @Test
+    void validCommand_noViolations() {
+        var command = new UserProfileCommand(USER_ID, UserProfileCommand.CommandType.INCREMENT, Map.of("battleFought", 10));
+
+        assertThat(commandValidation.validate(command)).isEmpty();
+    }
+
+    @Test
+    void invalidCommand_violationMessageIsReturned() {
+        var command = new UserProfileCommand(USER_ID, UserProfileCommand.CommandType.COLLECT, Map.of("inventory", "sword"));
+
+        assertThat(commandValidation.validate(command)).contains("Incorrect command. Please examine the request");
+    }
+
+    @Test
+    void missingUserId_violationMessageIsReturned() {
+        var command = new UserProfileCommand(null, UserProfileCommand.CommandType.REPLACE, Map.of("currentGold", 10));
+
+        assertThat(commandValidation.validate(command)).contains("must not be null");
+    }
+}
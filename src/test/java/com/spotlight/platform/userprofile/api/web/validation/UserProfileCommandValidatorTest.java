@@ -0,0 +1,67 @@
+package com.spotlight.platform.userprofile.api.web.validation;
+
+import com.spotlight.platform.userprofile.api.dtos.UserProfileCommand;
+import com.spotlight.platform.userprofile.api.model.profile.primitives.UserId;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserProfileCommandValidatorTest {
+    private static final UserId USER_ID = UserId.valueOf("de4310e5-b139-441a-99db-77c9c4a5fada");
+
+    @Test
+    void incrementWithIntegers_isValid() {
+        assertThat(isValid(UserProfileCommand.CommandType.INCREMENT, Map.of("battleFought", 10, "questsNotCompleted", -1L))).isTrue();
+        assertThat(isValid(UserProfileCommand.CommandType.INCREMENT, Map.of("battleFought", Long.MAX_VALUE))).isTrue();
+    }
+
+    @Test
+    void incrementWithNonIntegers_isNotValid() {
+        assertThat(isValid(UserProfileCommand.CommandType.INCREMENT, Map.of("battleFought", "10"))).isFalse();
+        assertThat(isValid(UserProfileCommand.CommandType.INCREMENT, Map.of("battleFought", 1.5))).isFalse();
+        assertThat(isValid(UserProfileCommand.CommandType.INCREMENT, Map.of("battleFought", BigInteger.TWO.pow(64)))).isFalse();
+    }
+
+    @Test
+    void collectWithLists_isValid() {
+        assertThat(isValid(UserProfileCommand.CommandType.COLLECT, Map.of("inventory", List.of("sword1")))).isTrue();
+    }
+
+    @Test
+    void collectWithNonList_isNotValid() {
+        assertThat(isValid(UserProfileCommand.CommandType.COLLECT, Map.of("inventory", "sword1"))).isFalse();
+    }
+
+    @Test
+    void replaceWithAnyValue_isValid() {
+        assertThat(isValid(UserProfileCommand.CommandType.REPLACE, Map.of("currentGold", "500", "inventory", List.of()))).isTrue();
+    }
+
+    @Test
+    void propertyNameBreakingAlphanumericRules_isValid() {
+        assertThat(isValid(UserProfileCommand.CommandType.REPLACE, Map.of("current gold", 500))).isTrue();
+        assertThat(isValid(UserProfileCommand.CommandType.REPLACE, Map.of("", 500))).isTrue();
+    }
+
+    @Test
+    void userIdBreakingAlphanumericRules_isValid() {
+        var command = new UserProfileCommand(UserId.valueOf("invalid-user-id-%"), UserProfileCommand.CommandType.REPLACE,
+                Map.of("currentGold", 500));
+
+        assertThat(UserProfileCommandValidator.isValidCommand(command)).isTrue();
+    }
+
+    @Test
+    void missingType_isNotValid() {
+        assertThat(isValid(null, Map.of("currentGold", 500))).isFalse();
+    }
+
+    private static boolean isValid(UserProfileCommand.CommandType type, Map<String, Object> properties) {
+        return UserProfileCommandValidator.isValidCommand(new UserProfileCommand(USER_ID, type, properties));
+    }
+}